@@ -0,0 +1,30 @@
+#!/bin/bash
+
+# Bulk-load persons from a CSV file through POST /api/persons/import (PostgreSQL COPY).
+# The file needs a header row followed by: first_name,last_name,email,gender,title
+# Usage: ./import_persons.sh persons.csv [base_url]
+
+CSV_FILE=$1
+BASE_URL=${2:-http://localhost:8080/api}
+
+if [ -z "$CSV_FILE" ] || [ ! -f "$CSV_FILE" ]; then
+  echo "Usage: $0 <file.csv> [base_url]"
+  exit 1
+fi
+
+echo "Importing ${CSV_FILE}..."
+# --data-binary streams the file unchanged; -d would strip the newlines COPY relies on
+HTTP_STATUS=$(curl -s -o /tmp/import_persons_response.json -w "%{http_code}" -X POST \
+  "${BASE_URL}/persons/import" \
+  -H "Content-Type: text/csv" \
+  --data-binary "@${CSV_FILE}")
+
+cat /tmp/import_persons_response.json
+echo
+
+if [ "$HTTP_STATUS" != "200" ]; then
+  echo "Import failed with HTTP status ${HTTP_STATUS}"
+  exit 1
+fi
+
+echo "Import completed"
@@ -0,0 +1,111 @@
+package io.archton.scaffold.security;
+
+import io.smallrye.jwt.algorithm.SignatureAlgorithm;
+import io.smallrye.jwt.build.Jwt;
+import org.jose4j.jwa.AlgorithmConstraints;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.consumer.InvalidJwtException;
+import org.jose4j.jwt.consumer.JwtConsumer;
+import org.jose4j.jwt.consumer.JwtConsumerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the signature algorithms {@code jwt.signature.algorithm} accepts: tokens signed per second
+ * (login and refresh), tokens verified per second (every request that misses {@link VerifiedTokenCache}),
+ * and the encoded token size, which is printed once per algorithm during setup. Claims mirror what
+ * {@code AuthService} issues; signing goes through the SmallRye JWT builder and verification through
+ * jose4j, as in the application. Run with {@code ./mvnw -Pbenchmark test-compile exec:exec}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtSigningBenchmark {
+
+    private static final String ISSUER = "https://rescaffold.archton.io";
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    String algorithm;
+
+    private SignatureAlgorithm signatureAlgorithm;
+    private KeyPair keyPair;
+    private JwtConsumer consumer;
+    private String token;
+
+    @Setup
+    public void setUp() throws GeneralSecurityException, InvalidJwtException {
+        signatureAlgorithm = SignatureAlgorithm.fromAlgorithm(algorithm);
+        keyPair = generateKeyPair(signatureAlgorithm);
+        consumer = new JwtConsumerBuilder()
+                .setVerificationKey(keyPair.getPublic())
+                .setJwsAlgorithmConstraints(AlgorithmConstraints.ConstraintType.PERMIT, signatureAlgorithm.getAlgorithm())
+                .setExpectedIssuer(ISSUER)
+                .setRequireExpirationTime()
+                .build();
+        token = sign();
+        consumer.processToClaims(token);
+        System.out.printf("%n%s token size: %d bytes%n", algorithm, token.length());
+    }
+
+    @Benchmark
+    public String sign() {
+        Instant now = Instant.now();
+        return Jwt.issuer(ISSUER)
+                .subject("admin")
+                .claim("jti", UUID.randomUUID().toString())
+                .groups(Set.of("ROLE_ADMIN", "ROLE_USER"))
+                .claim("name", "Admin User")
+                .claim("userId", 1L)
+                .claim("personId", 1L)
+                .issuedAt(now)
+                .claim("nbf", now)
+                .claim(TokenRevocationList.ISSUED_AT_MILLIS_CLAIM, now.toEpochMilli())
+                .expiresAt(now.plusSeconds(3600))
+                .jws()
+                .algorithm(signatureAlgorithm)
+                .sign(keyPair.getPrivate());
+    }
+
+    @Benchmark
+    public JwtClaims verify() throws InvalidJwtException {
+        return consumer.processToClaims(token);
+    }
+
+    // Key sizes match the recommended keys in SECURITY.md
+    private static KeyPair generateKeyPair(SignatureAlgorithm algorithm) throws GeneralSecurityException {
+        KeyPairGenerator generator;
+        switch (algorithm) {
+            case ES256 -> {
+                generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            }
+            case EDDSA -> generator = KeyPairGenerator.getInstance("Ed25519");
+            default -> {
+                generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+            }
+        }
+        return generator.generateKeyPair();
+    }
+}
@@ -9,6 +9,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "gender")
+@Cacheable
 public class Gender {
 
     @Id
@@ -0,0 +1,52 @@
+package io.archton.scaffold.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "refresh_token")
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    @NotNull
+    public String tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    @NotNull
+    public Long userId;
+
+    @Column(name = "family_id", nullable = false)
+    @NotNull
+    public UUID familyId;
+
+    @Column(name = "expires_at", nullable = false)
+    @NotNull
+    public LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    public LocalDateTime createdAt;
+
+    @Column(name = "rotated_at")
+    public LocalDateTime rotatedAt;
+
+    @Column(name = "revoked_at")
+    public LocalDateTime revokedAt;
+
+    public RefreshToken() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public RefreshToken(String tokenHash, Long userId, UUID familyId, LocalDateTime expiresAt) {
+        this();
+        this.tokenHash = tokenHash;
+        this.userId = userId;
+        this.familyId = familyId;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -11,6 +11,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "role")
+@Cacheable
 public class Role {
 
     @Id
@@ -9,6 +9,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "title")
+@Cacheable
 public class Title {
 
     @Id
@@ -2,6 +2,8 @@ package io.archton.scaffold.domain;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
@@ -46,7 +48,9 @@ public class User {
     @Column(name = "updated_at")
     public LocalDateTime updatedAt;
 
+    // Only role ids are cached here; the Role entities themselves come from their own cache region
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
         name = "user_role",
         joinColumns = @JoinColumn(name = "user_id"),
@@ -0,0 +1,17 @@
+package io.archton.scaffold.dto;
+
+/**
+ * Outcome of one item in a batch request; {@code index} is the item's position in the submitted array.
+ */
+public record BatchItemResult(int index, Status status, Long id, String email, String error) {
+
+    public enum Status { CREATED, REJECTED }
+
+    public static BatchItemResult created(int index, Long id, String email) {
+        return new BatchItemResult(index, Status.CREATED, id, email, null);
+    }
+
+    public static BatchItemResult rejected(int index, String email, String error) {
+        return new BatchItemResult(index, Status.REJECTED, null, email, error);
+    }
+}
@@ -0,0 +1,14 @@
+package io.archton.scaffold.dto;
+
+import java.util.List;
+
+/**
+ * Summary of a batch request with one result per submitted item, in submission order.
+ */
+public record BatchResult(int created, int rejected, List<BatchItemResult> items) {
+
+    public static BatchResult of(List<BatchItemResult> items) {
+        int created = (int) items.stream().filter(item -> item.status() == BatchItemResult.Status.CREATED).count();
+        return new BatchResult(created, items.size() - created, items);
+    }
+}
@@ -0,0 +1,15 @@
+package io.archton.scaffold.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Hit/miss counters of one in-process cache since start-up.
+ */
+public record CacheStats(String name, long hits, long misses, long invalidations, int size) {
+
+    @JsonProperty
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
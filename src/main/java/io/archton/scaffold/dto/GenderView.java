@@ -0,0 +1,22 @@
+package io.archton.scaffold.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a gender, selected directly by HQL constructor expression.
+ */
+public record GenderView(
+        Long id,
+        String code,
+        String description,
+        String createdBy,
+        LocalDateTime createdAt,
+        String updatedBy,
+        LocalDateTime updatedAt) {
+
+    /**
+     * Select clause for a query rooted at {@code Gender g}.
+     */
+    public static final String SELECT = "select new io.archton.scaffold.dto.GenderView("
+            + "g.id, g.code, g.description, g.createdBy, g.createdAt, g.updatedBy, g.updatedAt) ";
+}
@@ -0,0 +1,21 @@
+package io.archton.scaffold.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Load of the password hashing executor: current queue and pool state, plus totals since start-up.
+ * Wait is the time a task spent queued; hash time is the bcrypt work itself.
+ */
+public record HashingStats(int threads, int queueCapacity, int queueDepth, int active,
+                           long completed, long rejected, long totalWaitNanos, long totalHashNanos) {
+
+    @JsonProperty
+    public double averageWaitMillis() {
+        return completed == 0 ? 0.0 : totalWaitNanos / 1e6 / completed;
+    }
+
+    @JsonProperty
+    public double averageHashMillis() {
+        return completed == 0 ? 0.0 : totalHashNanos / 1e6 / completed;
+    }
+}
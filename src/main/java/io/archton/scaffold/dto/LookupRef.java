@@ -0,0 +1,11 @@
+package io.archton.scaffold.dto;
+
+/**
+ * Compact reference to a lookup row (gender or title) embedded in other projections.
+ */
+public record LookupRef(Long id, String code, String description) {
+
+    static LookupRef of(Long id, String code, String description) {
+        return id != null ? new LookupRef(id, code, description) : null;
+    }
+}
@@ -0,0 +1,7 @@
+package io.archton.scaffold.dto;
+
+/**
+ * Typeahead match served from the in-memory suggestion index.
+ */
+public record PersonSuggestion(Long id, String name, String email) {
+}
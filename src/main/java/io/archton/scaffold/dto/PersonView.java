@@ -0,0 +1,53 @@
+package io.archton.scaffold.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a person with gender and title flattened into {@link LookupRef}s.
+ * The flat constructor matches {@link #SELECT} so a single HQL query yields ready-to-serialize rows.
+ */
+public record PersonView(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        LookupRef gender,
+        LookupRef title,
+        String createdBy,
+        LocalDateTime createdAt,
+        String updatedBy,
+        LocalDateTime updatedAt) {
+
+    /**
+     * Select clause for a query rooted at {@code Person p} with {@code left join p.gender g left join p.title t}.
+     */
+    public static final String SELECT = "select new io.archton.scaffold.dto.PersonView("
+            + "p.id, p.firstName, p.lastName, p.email, "
+            + "g.id, g.code, g.description, t.id, t.code, t.description, "
+            + "p.createdBy, p.createdAt, p.updatedBy, p.updatedAt) ";
+
+    public PersonView(Long id, String firstName, String lastName, String email,
+                      Long genderId, String genderCode, String genderDescription,
+                      Long titleId, String titleCode, String titleDescription,
+                      String createdBy, LocalDateTime createdAt, String updatedBy, LocalDateTime updatedAt) {
+        this(id, firstName, lastName, email,
+                LookupRef.of(genderId, genderCode, genderDescription),
+                LookupRef.of(titleId, titleCode, titleDescription),
+                createdBy, createdAt, updatedBy, updatedAt);
+    }
+
+    @JsonProperty("fullName")
+    public String fullName() {
+        if (firstName != null && !firstName.trim().isEmpty()) {
+            return firstName + " " + lastName;
+        }
+        return lastName;
+    }
+
+    @JsonProperty("displayName")
+    public String displayName() {
+        return title != null ? title.description() + " " + fullName() : fullName();
+    }
+}
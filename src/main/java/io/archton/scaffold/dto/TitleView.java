@@ -0,0 +1,22 @@
+package io.archton.scaffold.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a title, selected directly by HQL constructor expression.
+ */
+public record TitleView(
+        Long id,
+        String code,
+        String description,
+        String createdBy,
+        LocalDateTime createdAt,
+        String updatedBy,
+        LocalDateTime updatedAt) {
+
+    /**
+     * Select clause for a query rooted at {@code Title t}.
+     */
+    public static final String SELECT = "select new io.archton.scaffold.dto.TitleView("
+            + "t.id, t.code, t.description, t.createdBy, t.createdAt, t.updatedBy, t.updatedAt) ";
+}
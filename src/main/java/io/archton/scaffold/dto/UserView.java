@@ -0,0 +1,48 @@
+package io.archton.scaffold.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only projection of a user login. Never carries the password hash; the linked
+ * person is reduced to its id and name, and roles to their names.
+ */
+public record UserView(
+        Long id,
+        String username,
+        Long personId,
+        String personName,
+        List<String> roles,
+        LocalDateTime lastLogin,
+        String createdBy,
+        LocalDateTime createdAt,
+        String updatedBy,
+        LocalDateTime updatedAt) {
+
+    /**
+     * Select clause for a query rooted at {@code User u} with {@code left join u.person p}.
+     * Roles are a collection and cannot be projected here; attach them with {@link #withRoles}.
+     */
+    public static final String SELECT = "select new io.archton.scaffold.dto.UserView("
+            + "u.id, u.username, p.id, p.firstName, p.lastName, "
+            + "u.lastLogin, u.createdBy, u.createdAt, u.updatedBy, u.updatedAt) ";
+
+    public UserView(Long id, String username, Long personId, String personFirstName, String personLastName,
+                    LocalDateTime lastLogin, String createdBy, LocalDateTime createdAt,
+                    String updatedBy, LocalDateTime updatedAt) {
+        this(id, username, personId, personName(personFirstName, personLastName), List.of(),
+                lastLogin, createdBy, createdAt, updatedBy, updatedAt);
+    }
+
+    public UserView withRoles(List<String> roleNames) {
+        return new UserView(id, username, personId, personName, roleNames, lastLogin,
+                createdBy, createdAt, updatedBy, updatedAt);
+    }
+
+    private static String personName(String firstName, String lastName) {
+        if (lastName == null) {
+            return null;
+        }
+        return firstName != null && !firstName.trim().isEmpty() ? firstName + " " + lastName : lastName;
+    }
+}
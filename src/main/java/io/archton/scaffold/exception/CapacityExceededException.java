@@ -0,0 +1,25 @@
+package io.archton.scaffold.exception;
+
+/**
+ * Exception thrown when a bounded resource (such as the password hashing queue) is full and the
+ * request should be retried later.
+ */
+public class CapacityExceededException extends RuntimeException {
+    
+    private final String resource;
+    private final long retryAfterSeconds;
+    
+    public CapacityExceededException(String resource, long retryAfterSeconds) {
+        super(String.format("%s is at capacity, retry after %d seconds", resource, retryAfterSeconds));
+        this.resource = resource;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public String getResource() {
+        return resource;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
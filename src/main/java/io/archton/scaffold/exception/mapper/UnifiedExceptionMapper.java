@@ -1,5 +1,6 @@
 package io.archton.scaffold.exception.mapper;
 
+import io.archton.scaffold.exception.CapacityExceededException;
 import io.archton.scaffold.exception.DuplicateEntityException;
 import io.archton.scaffold.exception.EntityNotFoundException;
 import io.archton.scaffold.exception.ValidationException;
@@ -88,6 +89,13 @@ public class UnifiedExceptionMapper implements ExceptionMapper<Exception> {
             return Response.ok(html).build();
         }
         
+        if (exception instanceof CapacityExceededException) {
+            return Response.status(status)
+                .header(HttpHeaders.RETRY_AFTER, ((CapacityExceededException) exception).getRetryAfterSeconds())
+                .entity(html)
+                .build();
+        }
+        
         return Response.status(status).entity(html).build();
     }
     
@@ -105,6 +113,8 @@ public class UnifiedExceptionMapper implements ExceptionMapper<Exception> {
             return handleValidationException((ValidationException) exception);
         } else if (exception instanceof IllegalArgumentException) {
             return handleIllegalArgumentException((IllegalArgumentException) exception);
+        } else if (exception instanceof CapacityExceededException) {
+            return handleCapacityExceededException((CapacityExceededException) exception);
         } else {
             return handleGenericException(exception);
         }
@@ -164,6 +174,8 @@ public class UnifiedExceptionMapper implements ExceptionMapper<Exception> {
         } else if (exception instanceof ValidationException || 
                    exception instanceof IllegalArgumentException) {
             return Response.Status.BAD_REQUEST;
+        } else if (exception instanceof CapacityExceededException) {
+            return Response.Status.SERVICE_UNAVAILABLE;
         } else {
             return Response.Status.INTERNAL_SERVER_ERROR;
         }
@@ -176,7 +188,8 @@ public class UnifiedExceptionMapper implements ExceptionMapper<Exception> {
         if (e instanceof EntityNotFoundException || 
             e instanceof DuplicateEntityException ||
             e instanceof ValidationException ||
-            e instanceof IllegalArgumentException) {
+            e instanceof IllegalArgumentException ||
+            e instanceof CapacityExceededException) {
             log.warn(context + ": " + e.getMessage());
         } else {
             log.error(context, e);
@@ -241,6 +254,20 @@ public class UnifiedExceptionMapper implements ExceptionMapper<Exception> {
             .build();
     }
     
+    private Response handleCapacityExceededException(CapacityExceededException e) {
+        Map<String, Object> errorResponse = createErrorResponse(
+            "CAPACITY_EXCEEDED",
+            e.getMessage(),
+            Response.Status.SERVICE_UNAVAILABLE
+        );
+        errorResponse.put("retryAfterSeconds", e.getRetryAfterSeconds());
+        
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, e.getRetryAfterSeconds())
+            .entity(errorResponse)
+            .build();
+    }
+    
     private Response handleGenericException(Exception e) {
         Map<String, Object> errorResponse = createErrorResponse(
             "INTERNAL_SERVER_ERROR",
@@ -0,0 +1,11 @@
+package io.archton.scaffold.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of filtered results together with the total match count and per-value facet counts,
+ * keyed by facet name (e.g. "gender") and then by value code.
+ */
+public record FacetedPage<T>(List<T> items, int page, int size, int total, Map<String, Map<String, Integer>> facets) {
+}
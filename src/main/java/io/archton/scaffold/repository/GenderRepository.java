@@ -1,9 +1,11 @@
 package io.archton.scaffold.repository;
 
 import io.archton.scaffold.domain.Gender;
+import io.archton.scaffold.dto.GenderView;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
 
 import java.util.List;
 
@@ -11,7 +13,7 @@ import java.util.List;
 public class GenderRepository implements PanacheRepository<Gender> {
 
     public Gender findByCode(String code) {
-        return find("code", code).firstResult();
+        return find("code", code).withHint(HibernateHints.HINT_CACHEABLE, true).firstResult();
     }
 
     public List<Gender> listSorted() {
@@ -29,4 +31,28 @@ public class GenderRepository implements PanacheRepository<Gender> {
     public Gender findByDescription(String description) {
         return find("description", description).firstResult();
     }
+
+    public List<GenderView> listViews() {
+        return getEntityManager()
+                .createQuery(GenderView.SELECT + "from Gender g", GenderView.class)
+                .getResultList();
+    }
+
+    public GenderView findViewById(Long id) {
+        return getEntityManager()
+                .createQuery(GenderView.SELECT + "from Gender g where g.id = ?1", GenderView.class)
+                .setParameter(1, id)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    public GenderView findViewByCode(String code) {
+        return getEntityManager()
+                .createQuery(GenderView.SELECT + "from Gender g where g.code = ?1", GenderView.class)
+                .setParameter(1, code)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
 }
\ No newline at end of file
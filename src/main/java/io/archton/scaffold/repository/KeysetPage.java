@@ -0,0 +1,9 @@
+package io.archton.scaffold.repository;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is null on the last page.
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor, int limit) {
+}
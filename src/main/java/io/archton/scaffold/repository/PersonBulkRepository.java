@@ -0,0 +1,269 @@
+package io.archton.scaffold.repository;
+
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain JDBC access to the person table for bulk paths where Hibernate's
+ * persistence context would cost more than it saves (streaming exports, large loads).
+ */
+@ApplicationScoped
+public class PersonBulkRepository {
+
+    private static final String EXPORT_SQL = """
+            select p.id, p.first_name, p.last_name, p.email,
+                   g.code, g.description, t.code, t.description,
+                   p.created_at, p.updated_at
+            from person p
+            left join gender g on g.id = p.gender_id
+            left join title t on t.id = p.title_id
+            order by p.last_name, coalesce(p.first_name, ''), p.id
+            """;
+
+    private static final String FACETS_SQL = "select id, gender_id, title_id from person order by id";
+
+    private static final String EXPORT_CSV_SQL = """
+            copy (
+                select p.id, p.first_name, p.last_name, p.email, g.code as gender, t.code as title,
+                       p.created_at, p.updated_at
+                from person p
+                left join gender g on g.id = p.gender_id
+                left join title t on t.id = p.title_id
+                %s
+                order by p.last_name, coalesce(p.first_name, ''), p.id
+            ) to stdout with (format csv, header true)
+            """;
+
+    private static final String IMPORT_COPY_SQL = """
+            copy person_import_staging (first_name, last_name, email, gender_code, title_code)
+            from stdin with (format csv, header true)
+            """;
+
+    // Applies PersonService's normalization (trim, blank first name to null, lowercase email) and the
+    // Person bean constraints to every staged row at once; error is null for rows that may be merged
+    private static final String CHECKED_IMPORT_CTE = """
+            with staged as (
+                select line_no,
+                       nullif(btrim(first_name), '') as first_name,
+                       btrim(last_name) as last_name,
+                       nullif(lower(btrim(email)), '') as email,
+                       nullif(upper(btrim(gender_code)), '') as gender_code,
+                       nullif(upper(btrim(title_code)), '') as title_code
+                from person_import_staging
+            ), checked as (
+                select s.*, g.id as gender_id, t.id as title_id,
+                       case
+                           when s.last_name is null or s.last_name = '' then 'Person last name is required'
+                           when length(s.last_name) > 100 then 'Person last name must be between 1 and 100 characters'
+                           when length(s.first_name) > 100 then 'Person first name must not exceed 100 characters'
+                           when s.email is null then 'Person email is required'
+                           when length(s.email) > 255 then 'Person email must not exceed 255 characters'
+                           when s.email !~ '^[^@[:space:]]+@[^@[:space:]]+$' then 'Person email must be valid'
+                           when s.gender_code is not null and g.id is null then 'Unknown gender code: ' || s.gender_code
+                           when s.title_code is not null and t.id is null then 'Unknown title code: ' || s.title_code
+                       end as error
+                from staged s
+                left join gender g on g.code = s.gender_code
+                left join title t on t.code = s.title_code
+            )
+            """;
+
+    private static final String IMPORT_REJECTIONS_SQL = CHECKED_IMPORT_CTE + """
+            select line_no, error, count(*) over () as rejected
+            from checked
+            where error is not null
+            order by line_no
+            limit ?
+            """;
+
+    // distinct on keeps the last row per email so ON CONFLICT never touches the same person twice.
+    // Ids come from whole person_seq blocks (each pooled value v owns v-49..v, matching Person's allocationSize)
+    // rather than the column default, which would burn a 50-id block per row and leave ids sparse.
+    // xmax = 0 only holds for freshly inserted tuples, which tells inserts from updates without a second pass
+    private static final String IMPORT_MERGE_SQL = CHECKED_IMPORT_CTE + """
+            , accepted as (
+                select distinct on (email) first_name, last_name, email, gender_id, title_id
+                from checked
+                where error is null
+                order by email, line_no desc
+            ), numbered as (
+                select accepted.*, row_number() over () - 1 as pos
+                from accepted
+            ), blocks as (
+                select row_number() over () - 1 as block, nextval('person_seq') as hi
+                from generate_series(1, (select ceil(count(*) / 50.0)::int from accepted))
+            ), merged as (
+                insert into person (id, first_name, last_name, email, gender_id, title_id, created_by)
+                select b.hi - 49 + (a.pos % 50), a.first_name, a.last_name, a.email, a.gender_id, a.title_id, ?
+                from numbered a
+                join blocks b on b.block = a.pos / 50
+                on conflict (email) do update
+                    set first_name = excluded.first_name,
+                        last_name = excluded.last_name,
+                        gender_id = excluded.gender_id,
+                        title_id = excluded.title_id,
+                        updated_by = excluded.created_by,
+                        updated_at = now()
+                returning id, first_name, last_name, email, gender_id, title_id, (xmax = 0) as inserted
+            )
+            select id, first_name, last_name, email, gender_id, title_id, inserted
+            from merged
+            """;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    /**
+     * Streams every person to {@code consumer} through a server-side cursor.
+     * PostgreSQL only honours the fetch size when auto-commit is off, so the read runs
+     * in its own short read-only transaction and at most {@code fetchSize} rows are held in memory.
+     */
+    public void streamAll(int fetchSize, RowConsumer<PersonExportRow> consumer) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            beginReadOnly(connection);
+            try (PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        consumer.accept(new PersonExportRow(
+                                rs.getLong(1),
+                                rs.getString(2),
+                                rs.getString(3),
+                                rs.getString(4),
+                                rs.getString(5),
+                                rs.getString(6),
+                                rs.getString(7),
+                                rs.getString(8),
+                                rs.getObject(9, LocalDateTime.class),
+                                rs.getObject(10, LocalDateTime.class)));
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    // SET TRANSACTION lasts until the rollback; Connection.setReadOnly would outlive it, since Agroal
+    // does not reset that flag, and turn later pooled transactions into BEGIN READ ONLY
+    private static void beginReadOnly(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("set transaction read only");
+        }
+    }
+
+    /**
+     * Streams the gender and title keys of every person, in the same cursor-based manner as {@link #streamAll}.
+     */
+    public void streamFacets(int fetchSize, RowConsumer<PersonFacetRow> consumer) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            beginReadOnly(connection);
+            try (PreparedStatement statement = connection.prepareStatement(FACETS_SQL)) {
+                statement.setFetchSize(fetchSize);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        consumer.accept(new PersonFacetRow(
+                                rs.getLong(1),
+                                rs.getObject(2, Long.class),
+                                rs.getObject(3, Long.class)));
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    /**
+     * Writes the matching persons as CSV straight from {@code COPY TO STDOUT} into {@code output};
+     * the server formats the rows, so nothing is materialized as Java objects. Returns the row count.
+     */
+    public long exportCsv(PersonExportFilter filter, OutputStream output) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyOut(EXPORT_CSV_SQL.formatted(filter.toWhereClause()), output);
+        }
+    }
+
+    /**
+     * Loads a CSV file ({@code first_name,last_name,email,gender,title} with a header row) into the
+     * unlogged staging table through {@code COPY FROM STDIN}, then validates, normalizes and merges all
+     * rows into person with set-based SQL, inserting new emails and updating existing ones.
+     * Everything runs in one transaction; truncating the staging table up front also serializes concurrent imports.
+     * Each inserted or updated row is passed to {@code merged} once the transaction has committed.
+     */
+    public PersonImportResult importCsv(InputStream csv, String importedBy, int maxRejections,
+                                        RowConsumer<PersonMergeRow> merged) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("truncate person_import_staging restart identity");
+                }
+                long rows = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(IMPORT_COPY_SQL, csv);
+
+                long rejected = 0;
+                List<PersonImportResult.Rejection> rejections = new ArrayList<>();
+                try (PreparedStatement statement = connection.prepareStatement(IMPORT_REJECTIONS_SQL)) {
+                    statement.setInt(1, maxRejections);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            rejections.add(new PersonImportResult.Rejection(rs.getLong(1), rs.getString(2)));
+                            rejected = rs.getLong(3);
+                        }
+                    }
+                }
+
+                long inserted = 0;
+                List<PersonMergeRow> mergedRows = new ArrayList<>();
+                try (PreparedStatement statement = connection.prepareStatement(IMPORT_MERGE_SQL)) {
+                    statement.setString(1, importedBy);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            PersonMergeRow row = new PersonMergeRow(
+                                    rs.getLong(1),
+                                    rs.getString(2),
+                                    rs.getString(3),
+                                    rs.getString(4),
+                                    rs.getObject(5, Long.class),
+                                    rs.getObject(6, Long.class),
+                                    rs.getBoolean(7));
+                            mergedRows.add(row);
+                            if (row.inserted()) {
+                                inserted++;
+                            }
+                        }
+                    }
+                }
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("truncate person_import_staging");
+                }
+                connection.commit();
+                for (PersonMergeRow row : mergedRows) {
+                    merged.accept(row);
+                }
+                return new PersonImportResult(rows, inserted, mergedRows.size() - inserted, rejected, rejections);
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+}
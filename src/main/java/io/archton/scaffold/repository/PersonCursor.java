@@ -0,0 +1,43 @@
+package io.archton.scaffold.repository;
+
+import io.archton.scaffold.domain.Person;
+import io.archton.scaffold.dto.PersonView;
+import io.archton.scaffold.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in the person listing order (last name, first name, id).
+ * Clients receive it Base64url encoded and hand it back unchanged to fetch the next page.
+ */
+public record PersonCursor(String lastName, String firstName, Long id) {
+
+    private static final char SEPARATOR = '\u001F';
+
+    public static PersonCursor of(Person person) {
+        return new PersonCursor(person.lastName, person.firstName != null ? person.firstName : "", person.id);
+    }
+
+    public static PersonCursor of(PersonView person) {
+        return new PersonCursor(person.lastName(), person.firstName() != null ? person.firstName() : "", person.id());
+    }
+
+    public String encode() {
+        String raw = lastName + SEPARATOR + firstName + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PersonCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Unexpected cursor layout");
+            }
+            return new PersonCursor(parts[0], parts[1], Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("cursor", "Invalid page cursor");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.archton.scaffold.repository;
+
+/**
+ * Resolved gender/title restriction for a bulk export; a null id means no restriction on that facet.
+ */
+public record PersonExportFilter(Long genderId, Long titleId) {
+
+    // COPY cannot take bind parameters, so the filter is rendered inline from the numeric ids only
+    String toWhereClause() {
+        if (genderId == null && titleId == null) {
+            return "";
+        }
+        StringBuilder where = new StringBuilder("where ");
+        if (genderId != null) {
+            where.append("p.gender_id = ").append(genderId.longValue());
+        }
+        if (titleId != null) {
+            where.append(genderId != null ? " and " : "").append("p.title_id = ").append(titleId.longValue());
+        }
+        return where.toString();
+    }
+}
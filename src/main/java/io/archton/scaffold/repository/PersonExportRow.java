@@ -0,0 +1,20 @@
+package io.archton.scaffold.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only view of a person row with its gender and title codes resolved.
+ * Used by bulk export paths that must not materialize managed entities.
+ */
+public record PersonExportRow(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        String genderCode,
+        String genderDescription,
+        String titleCode,
+        String titleDescription,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,7 @@
+package io.archton.scaffold.repository;
+
+/**
+ * Person id with its gender and title foreign keys, streamed to build facet bitmaps.
+ */
+public record PersonFacetRow(long id, Long genderId, Long titleId) {
+}
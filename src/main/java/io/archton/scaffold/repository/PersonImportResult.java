@@ -0,0 +1,13 @@
+package io.archton.scaffold.repository;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk CSV import. {@code rows} counts data rows read from the file; rows that repeat
+ * an email within the file collapse onto the last occurrence, so inserted + updated + rejected may be lower.
+ */
+public record PersonImportResult(long rows, long inserted, long updated, long rejected, List<Rejection> rejections) {
+
+    public record Rejection(long line, String error) {
+    }
+}
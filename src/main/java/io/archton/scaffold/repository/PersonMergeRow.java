@@ -0,0 +1,15 @@
+package io.archton.scaffold.repository;
+
+/**
+ * A person row as written by the bulk import merge, with whether it was inserted or updated.
+ * Lets callers apply the import to in-memory state row by row instead of reloading everything.
+ */
+public record PersonMergeRow(
+        long id,
+        String firstName,
+        String lastName,
+        String email,
+        Long genderId,
+        Long titleId,
+        boolean inserted) {
+}
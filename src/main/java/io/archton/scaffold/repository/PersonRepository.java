@@ -3,38 +3,257 @@ package io.archton.scaffold.repository;
 import io.archton.scaffold.domain.Person;
 import io.archton.scaffold.domain.Gender;
 import io.archton.scaffold.domain.Title;
+import io.archton.scaffold.dto.PersonView;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
-import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @ApplicationScoped
 public class PersonRepository implements PanacheRepository<Person> {
 
+    // Fetch plan for list queries: gender and title are LAZY on the entity, so every
+    // listing joins them up front to render or serialize in a single round trip.
+    private static final String FETCH_ASSOCIATIONS = "from Person p left join fetch p.gender left join fetch p.title ";
+
+    // Projection source for read-only views: plain joins, no managed entities
+    private static final String VIEW_FROM = "from Person p left join p.gender g left join p.title t ";
+
+    private static final String KEYSET_AFTER = "where (p.lastName, coalesce(p.firstName, ''), p.id) > (?1, ?2, ?3) ";
+    private static final String KEYSET_ORDER = "order by p.lastName, coalesce(p.firstName, ''), p.id";
+
+    // Native because HQL has no tsquery match operator; served by idx_person_search_vector (GIN).
+    // ts_rank reads every matching row's vector, so only the first ?4 matches are ranked: a broad term
+    // costs a bounded amount of work instead of scoring a large part of the table on every page
+    private static final String SEARCH_IDS_SQL = """
+            with q as (
+                select websearch_to_tsquery('simple', ?1) as query
+            ), candidates as (
+                select p.id, p.search_vector
+                from person p, q
+                where p.search_vector @@ q.query
+                limit ?4
+            )
+            select c.id
+            from candidates c, q
+            order by ts_rank(c.search_vector, q.query) desc, c.id
+            offset ?2 limit ?3
+            """;
+
+    // xmax = 0 only holds for a freshly inserted tuple, which tells insert and update apart in the same statement
+    private static final String UPSERT_BY_EMAIL_SQL = """
+            insert into person (id, first_name, last_name, email, gender_id, title_id)
+            values (?6, ?1, ?2, ?3, ?4, ?5)
+            on conflict (email) do update
+                set first_name = excluded.first_name,
+                    last_name = excluded.last_name,
+                    gender_id = excluded.gender_id,
+                    title_id = excluded.title_id,
+                    updated_at = now()
+            returning id, (xmax = 0) as created
+            """;
+
+    @Inject
+    PersonIdAllocator idAllocator;
+
+    // unnest zips the column arrays back into rows, so the whole batch is one statement. Rows whose email
+    // already exists, including ones committed by a concurrent writer since the caller checked, are skipped
+    // and left out of the returned ids instead of failing the batch
+    private static final String INSERT_IF_ABSENT_SQL = """
+            insert into person (id, first_name, last_name, email, gender_id, title_id)
+            select * from unnest(?::bigint[], ?::varchar[], ?::varchar[], ?::varchar[], ?::bigint[], ?::bigint[])
+            on conflict (email) do nothing
+            returning id, email
+            """;
+
     public Person findByEmail(String email) {
         return find("email", email).firstResult();
     }
 
     public List<Person> listSorted() {
-        return listAll(Sort.by("lastName", "firstName"));
+        return find(FETCH_ASSOCIATIONS + "order by p.lastName, p.firstName").list();
+    }
+
+    /**
+     * Returns up to {@code limit} persons following {@code after} in (last name, first name, id) order.
+     * Uses a row-value comparison so PostgreSQL can seek directly into idx_person_keyset.
+     */
+    public List<Person> listAfter(PersonCursor after, int limit) {
+        if (after == null) {
+            return find(FETCH_ASSOCIATIONS + KEYSET_ORDER).range(0, limit - 1).list();
+        }
+        return find(FETCH_ASSOCIATIONS + KEYSET_AFTER + KEYSET_ORDER, after.lastName(), after.firstName(), after.id())
+                .range(0, limit - 1)
+                .list();
+    }
+
+    public List<PersonView> listViewsSorted() {
+        return getEntityManager()
+                .createQuery(PersonView.SELECT + VIEW_FROM + "order by p.lastName, p.firstName", PersonView.class)
+                .getResultList();
+    }
+
+    /**
+     * Projection counterpart of {@link #listAfter}, for read endpoints that never need managed entities.
+     */
+    public List<PersonView> listViewsAfter(PersonCursor after, int limit) {
+        if (after == null) {
+            return getEntityManager()
+                    .createQuery(PersonView.SELECT + VIEW_FROM + KEYSET_ORDER, PersonView.class)
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+        return getEntityManager()
+                .createQuery(PersonView.SELECT + VIEW_FROM + KEYSET_AFTER + KEYSET_ORDER, PersonView.class)
+                .setParameter(1, after.lastName())
+                .setParameter(2, after.firstName())
+                .setParameter(3, after.id())
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Returns the ids of persons matching {@code query}, most relevant first among at most
+     * {@code maxCandidates} matches.
+     */
+    public List<Long> searchIds(String query, int offset, int limit, int maxCandidates) {
+        List<?> rows = getEntityManager()
+                .createNativeQuery(SEARCH_IDS_SQL)
+                .setParameter(1, query)
+                .setParameter(2, offset)
+                .setParameter(3, limit)
+                .setParameter(4, maxCandidates)
+                .getResultList();
+        return rows.stream().map(id -> ((Number) id).longValue()).toList();
+    }
+
+    public List<PersonView> findViewsByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return getEntityManager()
+                .createQuery(PersonView.SELECT + VIEW_FROM + "where p.id in ?1", PersonView.class)
+                .setParameter(1, ids)
+                .getResultList();
+    }
+
+    public PersonView findViewById(Long id) {
+        return findView("where p.id = ?1", id);
+    }
+
+    public PersonView findViewByEmail(String email) {
+        return findView("where p.email = ?1", email);
+    }
+
+    private PersonView findView(String where, Object value) {
+        return getEntityManager()
+                .createQuery(PersonView.SELECT + VIEW_FROM + where, PersonView.class)
+                .setParameter(1, value)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
     }
 
     public List<Person> findByLastName(String lastName) {
-        return find("lastName", lastName).list();
+        return find(FETCH_ASSOCIATIONS + "where p.lastName = ?1", lastName).list();
     }
 
     public List<Person> findByGender(Gender gender) {
-        return find("gender", gender).list();
+        return find(FETCH_ASSOCIATIONS + "where p.gender = ?1", gender).list();
     }
 
     public List<Person> findByTitle(Title title) {
-        return find("title", title).list();
+        return find(FETCH_ASSOCIATIONS + "where p.title = ?1", title).list();
+    }
+
+    /**
+     * Inserts or replaces the person identified by {@code person.email} in a single statement;
+     * the unique constraint arbitrates concurrent writers instead of a prior SELECT.
+     */
+    public PersonUpsert upsertByEmail(Person person) {
+        NativeQuery<?> query = getEntityManager()
+                .createNativeQuery(UPSERT_BY_EMAIL_SQL)
+                .unwrap(NativeQuery.class);
+        // Only Person is touched, so don't let Hibernate treat every cached entity as stale
+        query.addSynchronizedEntityClass(Person.class);
+        query.setParameter(1, person.firstName, String.class);
+        query.setParameter(2, person.lastName, String.class);
+        query.setParameter(3, person.email, String.class);
+        query.setParameter(4, person.gender != null ? person.gender.id : null, Long.class);
+        query.setParameter(5, person.title != null ? person.title.id : null, Long.class);
+        // On conflict the id goes unused, which only skips one value of the allocator's block
+        query.setParameter(6, idAllocator.nextId(), Long.class);
+        Object[] row = (Object[]) query.getSingleResult();
+        return new PersonUpsert(((Number) row[0]).longValue(), (Boolean) row[1]);
     }
 
+    /**
+     * Inserts every person whose email is not taken yet and sets its id; returns the emails inserted.
+     * The persons are written with plain SQL and stay unmanaged.
+     */
+    public Set<String> insertIfAbsent(List<Person> persons) {
+        if (persons.isEmpty()) {
+            return Set.of();
+        }
+        int size = persons.size();
+        Long[] ids = new Long[size];
+        String[] firstNames = new String[size];
+        String[] lastNames = new String[size];
+        String[] emails = new String[size];
+        Long[] genderIds = new Long[size];
+        Long[] titleIds = new Long[size];
+        for (int i = 0; i < size; i++) {
+            Person person = persons.get(i);
+            ids[i] = idAllocator.nextId();
+            firstNames[i] = person.firstName;
+            lastNames[i] = person.lastName;
+            emails[i] = person.email;
+            genderIds[i] = person.gender != null ? person.gender.id : null;
+            titleIds[i] = person.title != null ? person.title.id : null;
+        }
+
+        Map<String, Long> inserted = getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            Map<String, Long> rows = new HashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_IF_ABSENT_SQL)) {
+                statement.setArray(1, connection.createArrayOf("bigint", ids));
+                statement.setArray(2, connection.createArrayOf("varchar", firstNames));
+                statement.setArray(3, connection.createArrayOf("varchar", lastNames));
+                statement.setArray(4, connection.createArrayOf("varchar", emails));
+                statement.setArray(5, connection.createArrayOf("bigint", genderIds));
+                statement.setArray(6, connection.createArrayOf("bigint", titleIds));
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        rows.put(rs.getString(2), rs.getLong(1));
+                    }
+                }
+            }
+            return rows;
+        });
+        for (Person person : persons) {
+            person.id = inserted.get(person.email);
+        }
+        return inserted.keySet();
+    }
 
-    public Person findByEmailExcludingId(String email, Long excludeId) {
-        return find("email = ?1 and id != ?2", email, excludeId).firstResult();
+    // One set-based lookup instead of a findByEmail round trip per candidate
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(getEntityManager()
+                .createQuery("select p.email from Person p where p.email in ?1", String.class)
+                .setParameter(1, emails)
+                .getResultList());
     }
 
 
@@ -0,0 +1,7 @@
+package io.archton.scaffold.repository;
+
+/**
+ * Result of an upsert by email: the person's id and whether the row was inserted rather than updated.
+ */
+public record PersonUpsert(long id, boolean created) {
+}
@@ -0,0 +1,57 @@
+package io.archton.scaffold.repository;
+
+import io.archton.scaffold.domain.RefreshToken;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@ApplicationScoped
+public class RefreshTokenRepository implements PanacheRepository<RefreshToken> {
+
+    // Claims the token in the same statement that finds it, so two concurrent refreshes with one
+    // token cannot both succeed; the loser sees no row and is treated as reuse
+    private static final String ROTATE_SQL = """
+            update refresh_token
+            set rotated_at = ?2
+            where token_hash = ?1 and rotated_at is null and revoked_at is null and expires_at > ?2
+            returning user_id, family_id
+            """;
+
+    public RefreshToken findByTokenHash(String tokenHash) {
+        return find("tokenHash", tokenHash).firstResult();
+    }
+
+    /**
+     * Marks a live token rotated and returns its owner and family, or null when no live token has this hash.
+     */
+    public RefreshTokenRotation rotate(String tokenHash, LocalDateTime now) {
+        NativeQuery<?> query = getEntityManager()
+                .createNativeQuery(ROTATE_SQL)
+                .unwrap(NativeQuery.class);
+        query.addSynchronizedEntityClass(RefreshToken.class);
+        query.setParameter(1, tokenHash, String.class);
+        query.setParameter(2, now, LocalDateTime.class);
+        List<?> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = (Object[]) rows.get(0);
+        return new RefreshTokenRotation(((Number) row[0]).longValue(), (UUID) row[1]);
+    }
+
+    public long revokeFamily(UUID familyId, LocalDateTime now) {
+        return update("revokedAt = ?1 where familyId = ?2 and revokedAt is null", now, familyId);
+    }
+
+    public long revokeAllForUser(Long userId, LocalDateTime now) {
+        return update("revokedAt = ?1 where userId = ?2 and revokedAt is null", now, userId);
+    }
+
+    public long deleteExpired(LocalDateTime now) {
+        return delete("expiresAt < ?1", now);
+    }
+}
@@ -0,0 +1,9 @@
+package io.archton.scaffold.repository;
+
+import java.util.UUID;
+
+/**
+ * Owner and family of a refresh token that has just been marked rotated.
+ */
+public record RefreshTokenRotation(long userId, UUID familyId) {
+}
@@ -0,0 +1,7 @@
+package io.archton.scaffold.repository;
+
+/**
+ * A revoked access token: its {@code jti}, owner and expiry in epoch seconds.
+ */
+public record RevokedToken(String jti, long userId, long expiresAtSeconds) {
+}
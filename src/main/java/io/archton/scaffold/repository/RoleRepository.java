@@ -3,11 +3,12 @@ package io.archton.scaffold.repository;
 import io.archton.scaffold.domain.Role;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
 
 @ApplicationScoped
 public class RoleRepository implements PanacheRepository<Role> {
 
     public Role findByName(String name) {
-        return find("name", name).firstResult();
+        return find("name", name).withHint(HibernateHints.HINT_CACHEABLE, true).firstResult();
     }
 }
\ No newline at end of file
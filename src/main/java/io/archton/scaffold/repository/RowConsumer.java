@@ -0,0 +1,13 @@
+package io.archton.scaffold.repository;
+
+import java.io.IOException;
+
+/**
+ * Callback receiving rows one at a time from a streaming query.
+ * May throw IOException so rows can be written straight to a response stream.
+ */
+@FunctionalInterface
+public interface RowConsumer<T> {
+
+    void accept(T row) throws IOException;
+}
@@ -0,0 +1,9 @@
+package io.archton.scaffold.repository;
+
+import java.util.List;
+
+/**
+ * One page of relevance-ranked search results. {@code hasMore} tells whether page + 1 has results.
+ */
+public record SearchPage<T>(List<T> items, int page, int size, boolean hasMore) {
+}
@@ -1,9 +1,11 @@
 package io.archton.scaffold.repository;
 
 import io.archton.scaffold.domain.Title;
+import io.archton.scaffold.dto.TitleView;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
 
 import java.util.List;
 
@@ -11,7 +13,7 @@ import java.util.List;
 public class TitleRepository implements PanacheRepository<Title> {
 
     public Title findByCode(String code) {
-        return find("code", code).firstResult();
+        return find("code", code).withHint(HibernateHints.HINT_CACHEABLE, true).firstResult();
     }
 
     public List<Title> listSorted() {
@@ -29,4 +31,28 @@ public class TitleRepository implements PanacheRepository<Title> {
     public Title findByDescription(String description) {
         return find("description", description).firstResult();
     }
+
+    public List<TitleView> listViews() {
+        return getEntityManager()
+                .createQuery(TitleView.SELECT + "from Title t", TitleView.class)
+                .getResultList();
+    }
+
+    public TitleView findViewById(Long id) {
+        return getEntityManager()
+                .createQuery(TitleView.SELECT + "from Title t where t.id = ?1", TitleView.class)
+                .setParameter(1, id)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    public TitleView findViewByCode(String code) {
+        return getEntityManager()
+                .createQuery(TitleView.SELECT + "from Title t where t.code = ?1", TitleView.class)
+                .setParameter(1, code)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package io.archton.scaffold.repository;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Native access to {@code revoked_token} and {@code user_token_cutoff}. These rows are only ever read
+ * in bulk to (re)build the in-memory revocation list, so they are not mapped as entities.
+ * Timestamps are stored as UTC and exchanged as epoch seconds like the JWT claims, except cutoffs, which
+ * are exchanged as epoch milliseconds so they can be told apart from logins in the same second.
+ */
+@ApplicationScoped
+public class TokenRevocationRepository {
+
+    private static final String INSERT_REVOKED_TOKEN_SQL = """
+            insert into revoked_token (jti, user_id, expires_at)
+            values (?1, ?2, ?3)
+            on conflict (jti) do nothing
+            """;
+
+    private static final String UPSERT_CUTOFF_SQL = """
+            insert into user_token_cutoff (user_id, not_before)
+            values (?1, ?2)
+            on conflict (user_id) do update set not_before = greatest(user_token_cutoff.not_before, excluded.not_before)
+            """;
+
+    @Inject
+    EntityManager entityManager;
+
+    public void insertRevokedToken(RevokedToken token) {
+        entityManager.createNativeQuery(INSERT_REVOKED_TOKEN_SQL)
+                .setParameter(1, token.jti())
+                .setParameter(2, token.userId())
+                .setParameter(3, toTimestamp(token.expiresAtSeconds()))
+                .executeUpdate();
+    }
+
+    public void upsertCutoff(long userId, long notBeforeMillis) {
+        entityManager.createNativeQuery(UPSERT_CUTOFF_SQL)
+                .setParameter(1, userId)
+                .setParameter(2, LocalDateTime.ofInstant(Instant.ofEpochMilli(notBeforeMillis), ZoneOffset.UTC))
+                .executeUpdate();
+    }
+
+    /**
+     * Unexpired revoked tokens, of every user when {@code userId} is null.
+     */
+    @SuppressWarnings("unchecked")
+    public List<RevokedToken> listRevokedTokens(Long userId, long nowSeconds) {
+        String sql = "select jti, user_id, expires_at from revoked_token where expires_at > ?1"
+                + (userId != null ? " and user_id = ?2" : "");
+        Query query = entityManager.createNativeQuery(sql, Object[].class).setParameter(1, toTimestamp(nowSeconds));
+        if (userId != null) {
+            query.setParameter(2, userId);
+        }
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> new RevokedToken((String) row[0], ((Number) row[1]).longValue(), toSeconds(row[2])))
+                .toList();
+    }
+
+    /**
+     * Not-before cutoffs in epoch milliseconds by user id, of every user when {@code userId} is null.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Long, Long> listCutoffs(Long userId) {
+        String sql = "select user_id, not_before from user_token_cutoff" + (userId != null ? " where user_id = ?1" : "");
+        Query query = entityManager.createNativeQuery(sql, Object[].class);
+        if (userId != null) {
+            query.setParameter(1, userId);
+        }
+        List<Object[]> rows = query.getResultList();
+        Map<Long, Long> cutoffs = new HashMap<>();
+        rows.forEach(row -> cutoffs.put(((Number) row[0]).longValue(), toLocalDateTime(row[1]).toInstant(ZoneOffset.UTC).toEpochMilli()));
+        return cutoffs;
+    }
+
+    public int deleteExpired(long nowSeconds) {
+        return entityManager.createNativeQuery("delete from revoked_token where expires_at <= ?1")
+                .setParameter(1, toTimestamp(nowSeconds))
+                .executeUpdate();
+    }
+
+    private static LocalDateTime toTimestamp(long epochSeconds) {
+        return LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC);
+    }
+
+    private static long toSeconds(Object timestamp) {
+        return toLocalDateTime(timestamp).toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toLocalDateTime(Object timestamp) {
+        return timestamp instanceof Timestamp sqlTimestamp
+                ? sqlTimestamp.toLocalDateTime()
+                : (LocalDateTime) timestamp;
+    }
+}
@@ -1,17 +1,114 @@
 package io.archton.scaffold.repository;
 
 import io.archton.scaffold.domain.User;
+import io.archton.scaffold.dto.UserView;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @ApplicationScoped
 public class UserRepository implements PanacheRepository<User> {
 
+    private static final String VIEW_FROM = "from User u left join u.person p ";
+
+    private static final String LOGIN_QUERY = "select u from User u left join fetch u.person left join fetch u.roles where u.username = ?1";
+    private static final String BY_ID_WITH_PERSON_AND_ROLES_QUERY = "select u from User u left join fetch u.person left join fetch u.roles where u.id = ?1";
+
+    // Never moves last_login backwards, so a late flush cannot overwrite a newer login from another node
+    private static final String UPDATE_LAST_LOGINS_SQL = """
+            update user_login u
+            set last_login = v.last_login
+            from unnest(?::bigint[], ?::timestamp[]) as v(id, last_login)
+            where u.id = v.id and (u.last_login is null or u.last_login < v.last_login)
+            """;
+
     public User findByUsername(String username) {
         return find("username", username).firstResult();
     }
 
+    // The user with its person and roles in one statement, instead of a select per EAGER association
+    public User findForLogin(String username) {
+        return firstOrNull(getEntityManager()
+                .createQuery(LOGIN_QUERY, User.class)
+                .setParameter(1, username)
+                .getResultList());
+    }
+
+    public User findWithPersonAndRoles(Long id) {
+        return firstOrNull(getEntityManager()
+                .createQuery(BY_ID_WITH_PERSON_AND_ROLES_QUERY, User.class)
+                .setParameter(1, id)
+                .getResultList());
+    }
+
+    // A list rather than getResultStream(), which would hold the cursor open until the session ends;
+    // Hibernate already collapses the join-fetched rows into one user
+    private static User firstOrNull(List<User> users) {
+        return users.isEmpty() ? null : users.get(0);
+    }
+
+    /**
+     * Applies buffered login times for many users in one UPDATE. Must run in a transaction.
+     */
+    public void updateLastLogins(Map<Long, LocalDateTime> lastLogins) {
+        if (lastLogins.isEmpty()) {
+            return;
+        }
+        Long[] ids = lastLogins.keySet().toArray(new Long[0]);
+        Timestamp[] times = new Timestamp[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            times[i] = Timestamp.valueOf(lastLogins.get(ids[i]));
+        }
+        getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_LAST_LOGINS_SQL)) {
+                statement.setArray(1, connection.createArrayOf("bigint", ids));
+                statement.setArray(2, connection.createArrayOf("timestamp", times));
+                statement.executeUpdate();
+            }
+        });
+    }
+
     public boolean existsByUsername(String username) {
         return count("username", username) > 0;
     }
-}
\ No newline at end of file
+
+    public List<UserView> listViews() {
+        List<UserView> users = getEntityManager()
+                .createQuery(UserView.SELECT + VIEW_FROM + "order by u.username", UserView.class)
+                .getResultList();
+        return withRoles(users);
+    }
+
+    public UserView findViewById(Long id) {
+        List<UserView> users = getEntityManager()
+                .createQuery(UserView.SELECT + VIEW_FROM + "where u.id = ?1", UserView.class)
+                .setParameter(1, id)
+                .getResultList();
+        return users.isEmpty() ? null : withRoles(users).get(0);
+    }
+
+    // Role names for all listed users in one extra query, rather than loading the EAGER roles set per user
+    private List<UserView> withRoles(List<UserView> users) {
+        if (users.isEmpty()) {
+            return users;
+        }
+        List<Long> ids = users.stream().map(UserView::id).toList();
+        Map<Long, List<String>> rolesByUser = new HashMap<>();
+        getEntityManager()
+                .createQuery("select u.id, r.name from User u join u.roles r where u.id in ?1 order by r.name", Object[].class)
+                .setParameter(1, ids)
+                .getResultList()
+                .forEach(row -> rolesByUser.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((String) row[1]));
+        return users.stream()
+                .map(user -> user.withRoles(rolesByUser.getOrDefault(user.id(), List.of())))
+                .toList();
+    }
+}
@@ -1,7 +1,13 @@
 package io.archton.scaffold.resource;
 
+import io.archton.scaffold.exception.CapacityExceededException;
+import io.archton.scaffold.security.LoginRateLimiter;
+import io.archton.scaffold.security.SecurityContext;
 import io.archton.scaffold.security.TokenInfo;
 import io.archton.scaffold.service.AuthService;
+import io.archton.scaffold.service.RefreshTokenService;
+import io.archton.scaffold.service.TokenRevocationService;
+import io.vertx.core.http.HttpServerRequest;
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
@@ -9,6 +15,8 @@ import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.jwt.JsonWebToken;
@@ -18,6 +26,7 @@ import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.jboss.logging.Logger;
 
 import java.util.Map;
+import java.util.Optional;
 
 @Path("/api/auth")
 @Produces(MediaType.APPLICATION_JSON)
@@ -30,6 +39,18 @@ public class AuthResource {
     @Inject
     AuthService authService;
 
+    @Inject
+    SecurityContext securityContext;
+
+    @Inject
+    LoginRateLimiter loginRateLimiter;
+
+    @Inject
+    TokenRevocationService tokenRevocationService;
+
+    @Inject
+    RefreshTokenService refreshTokenService;
+
     @Inject
     JsonWebToken jwt;
 
@@ -43,10 +64,24 @@ public class AuthResource {
     @Operation(summary = "Login", description = "Authenticates a user and returns a JWT token")
     @APIResponse(responseCode = "200", description = "Authentication successful")
     @APIResponse(responseCode = "401", description = "Authentication failed")
+    @APIResponse(responseCode = "429", description = "Too many login attempts, retry after the Retry-After delay")
+    @APIResponse(responseCode = "503", description = "Password hashing at capacity, retry after the Retry-After delay")
     @APIResponse(responseCode = "500", description = "Internal server error")
-    public Response login(LoginRequest loginRequest) {
+    public Response login(LoginRequest loginRequest, @Context HttpServerRequest request) {
         log.debugf("POST /api/auth/login - Username: %s", loginRequest.getUsername());
 
+        // Checked before any database or bcrypt work; remoteAddress() is the forwarded client address
+        // when the request came through a proxy listed in quarkus.http.proxy.trusted-proxies
+        String clientIp = request.remoteAddress() != null ? request.remoteAddress().host() : "unknown";
+        long retryAfter = loginRateLimiter.tryAcquire(clientIp, loginRequest.getUsername());
+        if (retryAfter > 0) {
+            log.warnf("Login rate limit exceeded for user %s from %s", loginRequest.getUsername(), clientIp);
+            return Response.status(Response.Status.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                    .entity(createErrorResponse("Too many login attempts, please try again later"))
+                    .build();
+        }
+
         try {
             TokenInfo tokenInfo = authService.authenticate(loginRequest.getUsername(), loginRequest.getPassword());
             if (tokenInfo == null) {
@@ -58,10 +93,14 @@ public class AuthResource {
             TokenResponse response = new TokenResponse(
                     tokenInfo.getToken(),
                     "Bearer",
-                    tokenInfo.getExpiresIn()
+                    tokenInfo.getExpiresIn(),
+                    tokenInfo.getRefreshToken()
             );
 
             return Response.ok(response).build();
+        } catch (CapacityExceededException e) {
+            // Answered by UnifiedExceptionMapper with 503 and Retry-After
+            throw e;
         } catch (Exception e) {
             log.error("Login failed", e);
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -80,14 +119,14 @@ public class AuthResource {
     public Response refreshToken() {
         try {
             // Get the current user from the JWT token
-            String username = jwt.getName();
-            if (username == null || username.isEmpty()) {
+            Optional<Long> userId = securityContext.getCurrentUserId();
+            if (userId.isEmpty()) {
                 return Response.status(Response.Status.UNAUTHORIZED)
                         .entity(createErrorResponse("No valid token found"))
                         .build();
             }
 
-            TokenInfo tokenInfo = authService.refreshToken(username);
+            TokenInfo tokenInfo = authService.refreshToken(userId.get());
 
             TokenResponse response = new TokenResponse(
                     tokenInfo.getToken(),
@@ -104,6 +143,70 @@ public class AuthResource {
         }
     }
 
+    @POST
+    @Path("/refresh-token")
+    @PermitAll
+    @Operation(summary = "Refresh with a refresh token", description = "Exchanges a refresh token for a new access token and the next refresh token; each refresh token can be used once")
+    @APIResponse(responseCode = "200", description = "Token refreshed successfully")
+    @APIResponse(responseCode = "401", description = "Refresh token is invalid, expired, revoked or already used")
+    @APIResponse(responseCode = "500", description = "Internal server error")
+    public Response refreshWithToken(RefreshTokenRequest refreshTokenRequest) {
+        log.debug("POST /api/auth/refresh-token");
+
+        if (refreshTokenRequest == null || refreshTokenRequest.getRefreshToken() == null || refreshTokenRequest.getRefreshToken().isBlank()) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .entity(createErrorResponse("Refresh token is required"))
+                    .build();
+        }
+
+        try {
+            TokenInfo tokenInfo = authService.refresh(refreshTokenRequest.getRefreshToken());
+            if (tokenInfo == null) {
+                return Response.status(Response.Status.UNAUTHORIZED)
+                        .entity(createErrorResponse("Invalid refresh token"))
+                        .build();
+            }
+
+            TokenResponse response = new TokenResponse(
+                    tokenInfo.getToken(),
+                    "Bearer",
+                    tokenInfo.getExpiresIn(),
+                    tokenInfo.getRefreshToken()
+            );
+
+            return Response.ok(response).build();
+        } catch (Exception e) {
+            log.error("Refresh token exchange failed", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse("An error occurred during token refresh"))
+                    .build();
+        }
+    }
+
+    @POST
+    @Path("/logout")
+    @RolesAllowed({"ROLE_ADMIN", "ROLE_MANAGER", "ROLE_USER"})
+    @Operation(summary = "Logout", description = "Revokes the presented access token and, if given, the refresh token's login")
+    @APIResponse(responseCode = "204", description = "Logged out")
+    @APIResponse(responseCode = "401", description = "Unauthorized")
+    @APIResponse(responseCode = "500", description = "Internal server error")
+    public Response logout(LogoutRequest logoutRequest) {
+        log.debugf("POST /api/auth/logout - Username: %s", jwt.getName());
+
+        try {
+            tokenRevocationService.revokeToken(jwt);
+            if (logoutRequest != null && logoutRequest.getRefreshToken() != null && !logoutRequest.getRefreshToken().isBlank()) {
+                refreshTokenService.revoke(logoutRequest.getRefreshToken());
+            }
+            return Response.noContent().build();
+        } catch (Exception e) {
+            log.error("Logout failed", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse("An error occurred during logout"))
+                    .build();
+        }
+    }
+
     // Request and response classes
     public static class LoginRequest {
         private String username;
@@ -126,15 +229,45 @@ public class AuthResource {
         }
     }
 
+    public static class RefreshTokenRequest {
+        private String refreshToken;
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+
+        public void setRefreshToken(String refreshToken) {
+            this.refreshToken = refreshToken;
+        }
+    }
+
+    public static class LogoutRequest {
+        private String refreshToken;
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+
+        public void setRefreshToken(String refreshToken) {
+            this.refreshToken = refreshToken;
+        }
+    }
+
     public static class TokenResponse {
         private String accessToken;
         private String tokenType;
         private long expiresIn;
+        private String refreshToken;
 
         public TokenResponse(String accessToken, String tokenType, long expiresIn) {
+            this(accessToken, tokenType, expiresIn, null);
+        }
+
+        public TokenResponse(String accessToken, String tokenType, long expiresIn, String refreshToken) {
             this.accessToken = accessToken;
             this.tokenType = tokenType;
             this.expiresIn = expiresIn;
+            this.refreshToken = refreshToken;
         }
 
         public String getAccessToken() {
@@ -160,5 +293,13 @@ public class AuthResource {
         public void setExpiresIn(long expiresIn) {
             this.expiresIn = expiresIn;
         }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+
+        public void setRefreshToken(String refreshToken) {
+            this.refreshToken = refreshToken;
+        }
     }
-}
\ No newline at end of file
+}
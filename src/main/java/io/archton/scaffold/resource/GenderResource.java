@@ -1,12 +1,20 @@
 package io.archton.scaffold.resource;
 
 import io.archton.scaffold.domain.Gender;
+import io.archton.scaffold.dto.GenderView;
+import io.archton.scaffold.service.DataVersions;
 import io.archton.scaffold.service.GenderService;
+import io.archton.scaffold.service.TableChangedEvent.Table;
+import io.archton.scaffold.util.ETags;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
@@ -27,6 +35,9 @@ public class GenderResource {
     @Inject
     GenderService genderService;
 
+    @Inject
+    DataVersions dataVersions;
+
     private Map<String, String> createErrorResponse(String message) {
         return Map.of("error", message);
     }
@@ -34,12 +45,18 @@ public class GenderResource {
     @GET
     @Operation(summary = "Get all genders", description = "Retrieves an unsorted list of all genders")
     @APIResponse(responseCode = "200", description = "List of genders retrieved successfully")
+    @APIResponse(responseCode = "304", description = "Not modified since the supplied ETag")
     @APIResponse(responseCode = "500", description = "Internal server error")
-    public Response getAllGenders() {
+    public Response getAllGenders(@Context Request request, @Context UriInfo uriInfo) {
         log.debug("GET /api/genders");
+        EntityTag etag = ETags.of(dataVersions, uriInfo, Table.GENDER);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.build();
+        }
         try {
-            List<Gender> genders = genderService.listAll();
-            return Response.ok(genders).build();
+            List<GenderView> genders = genderService.listViews();
+            return Response.ok(genders).tag(etag).build();
         } catch (Exception e) {
             log.error(e.getMessage());
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -57,7 +74,7 @@ public class GenderResource {
     public Response getGenderById(@Parameter(description = "Gender ID") @PathParam("id") Long id) {
         log.debugf("GET /api/genders/%s", id);
         try {
-            Gender gender = genderService.findById(id);
+            GenderView gender = genderService.findViewById(id);
             if (gender == null) {
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity(createErrorResponse("Entity not found with id: " + id))
@@ -81,7 +98,7 @@ public class GenderResource {
     public Response getGenderByCode(@Parameter(description = "Gender code") @PathParam("code") String code) {
         log.debugf("GET /api/genders/code/%s", code);
         try {
-            Gender gender = genderService.findByCode(code);
+            GenderView gender = genderService.findViewByCode(code);
             if (gender == null) {
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity(createErrorResponse("Entity not found with code: " + code))
@@ -0,0 +1,72 @@
+package io.archton.scaffold.resource;
+
+import io.archton.scaffold.dto.CacheStats;
+import io.archton.scaffold.dto.HashingStats;
+import io.archton.scaffold.security.VerifiedTokenCache;
+import io.archton.scaffold.service.GenderService;
+import io.archton.scaffold.service.PasswordHasher;
+import io.archton.scaffold.service.TitleService;
+import io.archton.scaffold.service.UserSnapshotCache;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+
+@Path("/api/metrics")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Metrics", description = "In-process runtime counters")
+public class MetricsResource {
+
+    private static final Logger log = Logger.getLogger(MetricsResource.class);
+
+    @Inject
+    GenderService genderService;
+
+    @Inject
+    TitleService titleService;
+
+    @Inject
+    PasswordHasher passwordHasher;
+
+    @Inject
+    UserSnapshotCache userSnapshotCache;
+
+    @Inject
+    VerifiedTokenCache verifiedTokenCache;
+
+    @GET
+    @Path("/caches")
+    @RolesAllowed("ROLE_ADMIN")
+    @Operation(summary = "Get cache statistics", description = "Hit, miss and invalidation counts of the in-process reference data, user snapshot and verified token caches")
+    @APIResponse(responseCode = "200", description = "Cache statistics retrieved successfully")
+    @APIResponse(responseCode = "401", description = "Unauthorized")
+    @APIResponse(responseCode = "403", description = "Forbidden")
+    public Response getCacheStats() {
+        log.debug("GET /api/metrics/caches");
+        List<CacheStats> stats = List.of(genderService.cacheStats(), titleService.cacheStats(), userSnapshotCache.stats(),
+                verifiedTokenCache.stats());
+        return Response.ok(stats).build();
+    }
+
+    @GET
+    @Path("/hashing")
+    @RolesAllowed("ROLE_ADMIN")
+    @Operation(summary = "Get password hashing statistics", description = "Queue depth, wait time and hash latency of the password hashing executor")
+    @APIResponse(responseCode = "200", description = "Hashing statistics retrieved successfully")
+    @APIResponse(responseCode = "401", description = "Unauthorized")
+    @APIResponse(responseCode = "403", description = "Forbidden")
+    public Response getHashingStats() {
+        log.debug("GET /api/metrics/hashing");
+        HashingStats stats = passwordHasher.stats();
+        return Response.ok(stats).build();
+    }
+}
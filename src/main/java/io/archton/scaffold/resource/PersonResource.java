@@ -1,21 +1,48 @@
 package io.archton.scaffold.resource;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.archton.scaffold.domain.Person;
+import io.archton.scaffold.dto.BatchResult;
+import io.archton.scaffold.dto.PersonSuggestion;
+import io.archton.scaffold.dto.PersonView;
 import io.archton.scaffold.exception.DuplicateEntityException;
 import io.archton.scaffold.exception.EntityNotFoundException;
 import io.archton.scaffold.exception.ValidationException;
+import io.archton.scaffold.repository.FacetedPage;
+import io.archton.scaffold.repository.KeysetPage;
+import io.archton.scaffold.repository.PersonExportFilter;
+import io.archton.scaffold.repository.PersonImportResult;
+import io.archton.scaffold.repository.PersonUpsert;
+import io.archton.scaffold.repository.SearchPage;
+import io.archton.scaffold.service.DataVersions;
 import io.archton.scaffold.service.PersonService;
+import io.archton.scaffold.service.TableChangedEvent.Table;
+import io.archton.scaffold.util.ETags;
+import io.quarkus.vertx.http.Compressed;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriInfo;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.jboss.logging.Logger;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
 
@@ -27,22 +54,186 @@ public class PersonResource {
 
     private static final Logger log = Logger.getLogger(PersonResource.class);
 
+    static final String APPLICATION_NDJSON = "application/x-ndjson";
+    static final String TEXT_CSV = "text/csv";
+    private static final int STREAM_FLUSH_ROWS = 500;
+
     @Inject
     PersonService personService;
 
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    DataVersions dataVersions;
+
     private Map<String, String> createErrorResponse(String message) {
         return Map.of("error", message);
     }
 
     @GET
-    @Operation(summary = "Get all persons", description = "Retrieves a list of all persons sorted by last name")
+    @Operation(summary = "Get all persons", description = "Retrieves a list of all persons sorted by last name. "
+            + "When limit or cursor is supplied, returns one keyset-paginated page with a nextCursor instead. "
+            + "When gender or title is supplied, returns one page of matches with total and facet counts")
     @APIResponse(responseCode = "200", description = "List of persons retrieved successfully")
+    @APIResponse(responseCode = "304", description = "Not modified since the supplied ETag")
+    @APIResponse(responseCode = "400", description = "Bad request: invalid cursor, page size or facet code")
+    @APIResponse(responseCode = "500", description = "Internal server error")
+    public Response getAllPersons(@Parameter(description = "Opaque cursor returned as nextCursor by the previous page") @QueryParam("cursor") String cursor,
+                                  @Parameter(description = "Page size, capped at persons.page.max-size") @QueryParam("limit") Integer limit,
+                                  @Parameter(description = "Gender code filter") @QueryParam("gender") String gender,
+                                  @Parameter(description = "Title code filter") @QueryParam("title") String title,
+                                  @Parameter(description = "Zero-based page number for filtered results") @QueryParam("page") Integer page,
+                                  @Context Request request,
+                                  @Context UriInfo uriInfo) {
+        log.debugf("GET /api/persons - cursor: %s, limit: %s, gender: %s, title: %s", cursor, limit, gender, title);
+        // Views embed gender and title descriptions, so those tables version the response too
+        EntityTag etag = ETags.of(dataVersions, uriInfo, Table.PERSON, Table.GENDER, Table.TITLE);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        try {
+            if (gender != null || title != null) {
+                FacetedPage<PersonView> filtered = personService.filter(gender, title, page, limit);
+                return Response.ok(filtered).tag(etag).build();
+            }
+            if (cursor != null || limit != null) {
+                KeysetPage<PersonView> keysetPage = personService.listViewPage(cursor, limit);
+                return Response.ok(keysetPage).tag(etag).build();
+            }
+            List<PersonView> persons = personService.listViewsSorted();
+            return Response.ok(persons).tag(etag).build();
+        } catch (ValidationException e) {
+            log.error("Invalid page request: " + e.getMessage());
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(createErrorResponse(e.getMessage()))
+                    .build();
+        } catch (Exception e) {
+            log.error(e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
+    @GET
+    @Path("/stream")
+    @Produces({APPLICATION_NDJSON, MediaType.APPLICATION_JSON})
+    @Operation(summary = "Stream all persons", description = "Streams every person straight from a database cursor, "
+            + "as newline-delimited JSON (format=ndjson, default) or as a single JSON array (format=array)")
+    @APIResponse(responseCode = "200", description = "Persons streamed successfully")
+    @APIResponse(responseCode = "400", description = "Bad request: unknown format")
+    public Response streamPersons(@Parameter(description = "ndjson or array") @QueryParam("format") @DefaultValue("ndjson") String format) {
+        log.debugf("GET /api/persons/stream - format: %s", format);
+
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        if (!ndjson && !"array".equalsIgnoreCase(format)) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(createErrorResponse("Unsupported format: " + format))
+                    .build();
+        }
+
+        StreamingOutput body = output -> writePersons(output, ndjson);
+        return Response.ok(body, ndjson ? APPLICATION_NDJSON : MediaType.APPLICATION_JSON).build();
+    }
+
+    private void writePersons(OutputStream output, boolean ndjson) throws IOException {
+        // Flushing is batched below, so don't let Jackson flush after every row
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long[] count = {0};
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            // Stop Jackson closing the container stream, which the runtime owns, and closing open arrays
+            // on close, which would make an aborted stream look complete
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            if (ndjson) {
+                generator.setRootValueSeparator(null);
+            } else {
+                generator.writeStartArray();
+            }
+            personService.streamAll(row -> {
+                writer.writeValue(generator, row);
+                if (ndjson) {
+                    generator.writeRaw('\n');
+                }
+                // Push the first row out immediately, then flush in fixed-size chunks
+                if (count[0]++ % STREAM_FLUSH_ROWS == 0) {
+                    generator.flush();
+                }
+            });
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+            generator.flush();
+        } catch (SQLException e) {
+            // Headers are already committed, so all we can do is abort the response
+            log.error("Person stream aborted after " + count[0] + " rows", e);
+            throw new IOException("Person stream aborted", e);
+        }
+    }
+
+    @GET
+    @Path("/export.csv")
+    @Produces(TEXT_CSV)
+    @Compressed
+    @Operation(summary = "Export persons as CSV", description = "Streams persons as CSV directly from PostgreSQL COPY, "
+            + "optionally filtered by gender and/or title code; gzip-compressed when the client accepts it")
+    @APIResponse(responseCode = "200", description = "CSV streamed successfully")
+    @APIResponse(responseCode = "400", description = "Bad request: unknown gender or title code")
+    public Response exportPersonsCsv(@Parameter(description = "Gender code filter") @QueryParam("gender") String gender,
+                                     @Parameter(description = "Title code filter") @QueryParam("title") String title) {
+        log.debugf("GET /api/persons/export.csv - gender: %s, title: %s", gender, title);
+
+        PersonExportFilter filter;
+        try {
+            filter = personService.exportFilter(gender, title);
+        } catch (ValidationException e) {
+            log.error("Invalid export filter: " + e.getMessage());
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(createErrorResponse(e.getMessage()))
+                    .build();
+        }
+
+        // Content-Encoding is negotiated by the HTTP layer from Accept-Encoding, q-values included
+        StreamingOutput body = output -> {
+            try {
+                personService.exportCsv(filter, output);
+                output.flush();
+            } catch (SQLException e) {
+                // Headers are already committed, so all we can do is abort the response
+                log.error("Person CSV export aborted", e);
+                throw new IOException("Person CSV export aborted", e);
+            }
+        };
+
+        return Response.ok(body, TEXT_CSV)
+                .header("Content-Disposition", "attachment; filename=\"persons.csv\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+
+    @GET
+    @Path("/search")
+    @Operation(summary = "Search persons", description = "Full-text search over first name, last name and email, "
+            + "ranked by relevance and paginated")
+    @APIResponse(responseCode = "200", description = "Search results retrieved successfully")
+    @APIResponse(responseCode = "400", description = "Bad request: missing query or invalid paging")
     @APIResponse(responseCode = "500", description = "Internal server error")
-    public Response getAllPersons() {
-        log.debug("GET /api/persons");
+    public Response searchPersons(@Parameter(description = "Search terms (web search syntax)") @QueryParam("q") String q,
+                                  @Parameter(description = "Zero-based page number") @QueryParam("page") Integer page,
+                                  @Parameter(description = "Page size, capped at persons.page.max-size") @QueryParam("size") Integer size) {
+        log.debugf("GET /api/persons/search - q: %s, page: %s, size: %s", q, page, size);
         try {
-            List<Person> persons = personService.listSorted();
-            return Response.ok(persons).build();
+            SearchPage<PersonView> results = personService.search(q, page, size);
+            return Response.ok(results).build();
+        } catch (ValidationException e) {
+            log.error("Invalid search request: " + e.getMessage());
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(createErrorResponse(e.getMessage()))
+                    .build();
         } catch (Exception e) {
             log.error(e.getMessage());
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -51,6 +242,18 @@ public class PersonResource {
         }
     }
 
+    @GET
+    @Path("/suggest")
+    @Operation(summary = "Suggest persons", description = "Typeahead lookup of persons whose last name, first name "
+            + "or email starts with the prefix, served from an in-memory index")
+    @APIResponse(responseCode = "200", description = "Suggestions retrieved successfully")
+    public Response suggestPersons(@Parameter(description = "Case-insensitive prefix") @QueryParam("prefix") String prefix,
+                                   @Parameter(description = "Maximum suggestions, capped at persons.suggest.max-results") @QueryParam("limit") Integer limit) {
+        log.debugf("GET /api/persons/suggest - prefix: %s", prefix);
+        List<PersonSuggestion> suggestions = personService.suggest(prefix, limit);
+        return Response.ok(suggestions).build();
+    }
+
     @GET
     @Path("/{id}")
     @Operation(summary = "Get person by ID", description = "Retrieves a specific person by their ID")
@@ -60,7 +263,7 @@ public class PersonResource {
     public Response getPersonById(@Parameter(description = "Person ID") @PathParam("id") Long id) {
         log.debugf("GET /api/persons/%s", id);
         try {
-            Person person = personService.findById(id);
+            PersonView person = personService.findViewById(id);
             if (person == null) {
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity(createErrorResponse("Entity not found with id: " + id))
@@ -84,7 +287,7 @@ public class PersonResource {
     public Response getPersonByEmail(@Parameter(description = "Person email") @PathParam("email") String email) {
         log.debugf("GET /api/persons/email/%s", email);
         try {
-            Person person = personService.findByEmail(email);
+            PersonView person = personService.findViewByEmail(email);
             if (person == null) {
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity(createErrorResponse("Entity not found with email: " + email))
@@ -129,6 +332,57 @@ public class PersonResource {
         }
     }
 
+    @POST
+    @Path("/batch")
+    @Operation(summary = "Create persons in bulk", description = "Creates up to persons.batch.max-size persons in one transaction and reports the outcome of each item")
+    @APIResponse(responseCode = "200", description = "Batch processed; see per-item results")
+    @APIResponse(responseCode = "400", description = "Bad request: empty or oversized batch")
+    @APIResponse(responseCode = "500", description = "Internal server error")
+    public Response createPersons(List<Person> persons) {
+        log.debugf("POST /api/persons/batch - %d items", persons != null ? persons.size() : 0);
+
+        try {
+            BatchResult result = personService.createPersons(persons);
+            return Response.ok(result).build();
+        } catch (ValidationException e) {
+            log.error("Validation error creating person batch: " + e.getMessage());
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(createErrorResponse(e.getMessage()))
+                    .build();
+        } catch (Exception e) {
+            log.error(e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
+    @POST
+    @Path("/import")
+    @Consumes(TEXT_CSV)
+    @Operation(summary = "Import persons from CSV", description = "Bulk loads a CSV file (header: first_name,last_name,email,gender,title) with PostgreSQL COPY and merges it into persons by email")
+    @APIResponse(responseCode = "200", description = "Import committed; see counts and rejected lines")
+    @APIResponse(responseCode = "400", description = "Bad request: malformed CSV")
+    @APIResponse(responseCode = "500", description = "Internal server error")
+    public Response importPersons(InputStream csv) {
+        log.debugf("POST /api/persons/import");
+
+        try {
+            PersonImportResult result = personService.importCsv(csv);
+            return Response.ok(result).build();
+        } catch (ValidationException e) {
+            log.error("Validation error importing persons: " + e.getMessage());
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(createErrorResponse(e.getMessage()))
+                    .build();
+        } catch (Exception e) {
+            log.error(e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
     @PUT
     @Path("/{id}")
     @Operation(summary = "Update an existing person", description = "Updates an existing person record")
@@ -165,6 +419,41 @@ public class PersonResource {
         }
     }
 
+    @PUT
+    @Path("/by-email/{email}")
+    @Operation(summary = "Create or replace a person by email", description = "Atomically inserts the person or replaces "
+            + "the names, gender and title of the existing person with this email (INSERT ... ON CONFLICT)")
+    @APIResponse(responseCode = "200", description = "Existing person updated")
+    @APIResponse(responseCode = "201", description = "Person created")
+    @APIResponse(responseCode = "400", description = "Bad request: invalid input data")
+    @APIResponse(responseCode = "500", description = "Internal server error")
+    public Response upsertPersonByEmail(@Parameter(description = "Person email") @PathParam("email") String email, Person person) {
+        log.debugf("PUT /api/persons/by-email/%s", email);
+
+        try {
+            PersonUpsert result = personService.upsertByEmail(email, person);
+            PersonView view = personService.findViewById(result.id());
+            return Response.status(result.created() ? Response.Status.CREATED : Response.Status.OK)
+                    .entity(view)
+                    .build();
+        } catch (ValidationException e) {
+            log.error("Validation error upserting person: " + e.getMessage());
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(createErrorResponse(e.getMessage()))
+                    .build();
+        } catch (DuplicateEntityException e) {
+            log.error("Person with email '" + e.getFieldValue() + "' already exists");
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(createErrorResponse(e.getMessage()))
+                    .build();
+        } catch (Exception e) {
+            log.error(e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
     @DELETE
     @Path("/{id}")
     @Operation(summary = "Delete a person", description = "Deletes an existing person record")
@@ -1,12 +1,20 @@
 package io.archton.scaffold.resource;
 
 import io.archton.scaffold.domain.Title;
+import io.archton.scaffold.dto.TitleView;
+import io.archton.scaffold.service.DataVersions;
 import io.archton.scaffold.service.TitleService;
+import io.archton.scaffold.service.TableChangedEvent.Table;
+import io.archton.scaffold.util.ETags;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
@@ -27,6 +35,9 @@ public class TitleResource {
     @Inject
     TitleService titleService;
 
+    @Inject
+    DataVersions dataVersions;
+
     private Map<String, String> createErrorResponse(String message) {
         return Map.of("error", message);
     }
@@ -34,12 +45,18 @@ public class TitleResource {
     @GET
     @Operation(summary = "Get all titles", description = "Retrieves an unsorted list of all titles")
     @APIResponse(responseCode = "200", description = "List of titles retrieved successfully")
+    @APIResponse(responseCode = "304", description = "Not modified since the supplied ETag")
     @APIResponse(responseCode = "500", description = "Internal server error")
-    public Response getAllTitles() {
+    public Response getAllTitles(@Context Request request, @Context UriInfo uriInfo) {
         log.debug("GET /api/titles");
+        EntityTag etag = ETags.of(dataVersions, uriInfo, Table.TITLE);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.build();
+        }
         try {
-            List<Title> titles = titleService.listAll();
-            return Response.ok(titles).build();
+            List<TitleView> titles = titleService.listViews();
+            return Response.ok(titles).tag(etag).build();
         } catch (Exception e) {
             log.error(e.getMessage());
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -57,7 +74,7 @@ public class TitleResource {
     public Response getTitleById(@Parameter(description = "Title ID") @PathParam("id") Long id) {
         log.debugf("GET /api/titles/%s", id);
         try {
-            Title title = titleService.findById(id);
+            TitleView title = titleService.findViewById(id);
             if (title == null) {
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity(createErrorResponse("Entity not found with id: " + id))
@@ -81,7 +98,7 @@ public class TitleResource {
     public Response getTitleByCode(@Parameter(description = "Title code") @PathParam("code") String code) {
         log.debugf("GET /api/titles/code/%s", code);
         try {
-            Title title = titleService.findByCode(code);
+            TitleView title = titleService.findViewByCode(code);
             if (title == null) {
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity(createErrorResponse("Entity not found with code: " + code))
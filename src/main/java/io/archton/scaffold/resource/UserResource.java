@@ -1,6 +1,10 @@
 package io.archton.scaffold.resource;
 
 import io.archton.scaffold.domain.User;
+import io.archton.scaffold.dto.UserView;
+import io.archton.scaffold.exception.CapacityExceededException;
+import io.archton.scaffold.exception.EntityNotFoundException;
+import io.archton.scaffold.service.TokenRevocationService;
 import io.archton.scaffold.service.UserService;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
@@ -28,6 +32,9 @@ public class UserResource {
     @Inject
     UserService userService;
 
+    @Inject
+    TokenRevocationService tokenRevocationService;
+
     private Map<String, String> createErrorResponse(String message) {
         return Map.of("error", message);
     }
@@ -40,7 +47,7 @@ public class UserResource {
     public Response getAllUsers() {
         log.debug("GET /api/users");
         try {
-            List<User> users = userService.listAll();
+            List<UserView> users = userService.listViews();
             return Response.ok(users).build();
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -60,7 +67,7 @@ public class UserResource {
     public Response getUserById(@Parameter(description = "User ID") @PathParam("id") Long id) {
         log.debugf("GET /api/users/%s", id);
         try {
-            User user = userService.findById(id);
+            UserView user = userService.findViewById(id);
             if (user == null) {
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity(createErrorResponse("Entity not found with id: " + id))
@@ -81,6 +88,7 @@ public class UserResource {
     @APIResponse(responseCode = "201", description = "User created successfully")
     @APIResponse(responseCode = "400", description = "Bad request: invalid input data")
     @APIResponse(responseCode = "409", description = "Conflicts with existing data")
+    @APIResponse(responseCode = "503", description = "Password hashing at capacity, retry after the Retry-After delay")
     @APIResponse(responseCode = "500", description = "Internal server error")
     public Response createUser(@Valid User user,
                                @QueryParam("password") String password,
@@ -91,6 +99,9 @@ public class UserResource {
         try {
             User created = userService.createUser(user, password, personId, roles);
             return Response.status(Response.Status.CREATED).entity(created).build();
+        } catch (CapacityExceededException e) {
+            // Answered by UnifiedExceptionMapper with 503 and Retry-After
+            throw e;
         } catch (Exception e) {
             log.error(e.getMessage());
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -105,6 +116,7 @@ public class UserResource {
     @Operation(summary = "Update a user", description = "Updates an existing user")
     @APIResponse(responseCode = "200", description = "User updated successfully")
     @APIResponse(responseCode = "404", description = "User not found")
+    @APIResponse(responseCode = "503", description = "Password hashing at capacity, retry after the Retry-After delay")
     @APIResponse(responseCode = "500", description = "Internal server error")
     public Response updateUser(@Parameter(description = "User ID") @PathParam("id") Long id,
                                @Valid User user,
@@ -114,6 +126,9 @@ public class UserResource {
         try {
             User updated = userService.updateUser(id, user, password);
             return Response.ok(updated).build();
+        } catch (CapacityExceededException e) {
+            // Answered by UnifiedExceptionMapper with 503 and Retry-After
+            throw e;
         } catch (Exception e) {
             log.error(e.getMessage());
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -186,4 +201,29 @@ public class UserResource {
                     .build();
         }
     }
-}
\ No newline at end of file
+
+    @POST
+    @Path("/{id}/revoke-tokens")
+    @RolesAllowed("ROLE_ADMIN")
+    @Operation(summary = "Revoke a user's tokens", description = "Rejects every access token issued to the user so far and revokes all of its refresh tokens")
+    @APIResponse(responseCode = "204", description = "Tokens revoked successfully")
+    @APIResponse(responseCode = "404", description = "User not found")
+    @APIResponse(responseCode = "500", description = "Internal server error")
+    public Response revokeTokens(@Parameter(description = "User ID") @PathParam("id") Long id) {
+        log.debugf("POST /api/users/%s/revoke-tokens", id);
+
+        try {
+            tokenRevocationService.revokeAllForUser(id);
+            return Response.noContent().build();
+        } catch (EntityNotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(createErrorResponse(e.getMessage()))
+                    .build();
+        } catch (Exception e) {
+            log.error(e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(createErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+}
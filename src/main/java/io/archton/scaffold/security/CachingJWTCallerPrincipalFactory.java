@@ -0,0 +1,43 @@
+package io.archton.scaffold.security;
+
+import io.smallrye.jwt.auth.principal.DefaultJWTCallerPrincipalFactory;
+import io.smallrye.jwt.auth.principal.JWTAuthContextInfo;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipal;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipalFactory;
+import io.smallrye.jwt.auth.principal.ParseException;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+
+/**
+ * Replaces SmallRye JWT's principal factory so a bearer token is signature-verified once and then
+ * served from {@link VerifiedTokenCache} for every further request that presents it, until it expires.
+ * Revocation is checked on every request, cached or not, against the in-memory {@link TokenRevocationList}.
+ */
+@ApplicationScoped
+@Alternative
+@Priority(1)
+public class CachingJWTCallerPrincipalFactory extends JWTCallerPrincipalFactory {
+
+    private final JWTCallerPrincipalFactory delegate = new DefaultJWTCallerPrincipalFactory();
+
+    @Inject
+    VerifiedTokenCache verifiedTokenCache;
+
+    @Inject
+    TokenRevocationList tokenRevocationList;
+
+    @Override
+    public JWTCallerPrincipal parse(String token, JWTAuthContextInfo authContextInfo) throws ParseException {
+        JWTCallerPrincipal principal = verifiedTokenCache.get(token);
+        if (principal == null) {
+            principal = delegate.parse(token, authContextInfo);
+            verifiedTokenCache.put(token, principal);
+        }
+        if (tokenRevocationList.isRevoked(principal)) {
+            throw new ParseException("Token has been revoked");
+        }
+        return principal;
+    }
+}
@@ -0,0 +1,65 @@
+package io.archton.scaffold.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles login attempts per client IP and per username before any database or bcrypt work.
+ * The IP limit caps what one client can make the server hash; the username limit caps guesses
+ * against one account spread over many addresses. Buckets live in memory, so each node limits on
+ * its own.
+ */
+@ApplicationScoped
+public class LoginRateLimiter {
+
+    @ConfigProperty(name = "auth.login.rate-limit.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "auth.login.rate-limit.ip.capacity", defaultValue = "20")
+    int ipCapacity;
+
+    @ConfigProperty(name = "auth.login.rate-limit.ip.per-minute", defaultValue = "60")
+    double ipPerMinute;
+
+    @ConfigProperty(name = "auth.login.rate-limit.username.capacity", defaultValue = "5")
+    int usernameCapacity;
+
+    @ConfigProperty(name = "auth.login.rate-limit.username.per-minute", defaultValue = "5")
+    double usernamePerMinute;
+
+    @ConfigProperty(name = "auth.login.rate-limit.idle-minutes", defaultValue = "15")
+    long idleMinutes;
+
+    @ConfigProperty(name = "auth.login.rate-limit.max-keys", defaultValue = "100000")
+    int maxKeys;
+
+    private TokenBucketLimiter byIp;
+    private TokenBucketLimiter byUsername;
+
+    @PostConstruct
+    void init() {
+        long idleNanos = TimeUnit.MINUTES.toNanos(idleMinutes);
+        byIp = new TokenBucketLimiter(ipCapacity, ipPerMinute, idleNanos, maxKeys, System::nanoTime);
+        byUsername = new TokenBucketLimiter(usernameCapacity, usernamePerMinute, idleNanos, maxKeys, System::nanoTime);
+    }
+
+    /**
+     * Takes one attempt from the IP's and the username's budgets. Returns 0 when the attempt may
+     * proceed, otherwise the seconds to wait before retrying. A refused IP does not spend the
+     * username's budget, so a flood from one address cannot lock the account out for everyone else.
+     */
+    public long tryAcquire(String clientIp, String username) {
+        if (!enabled) {
+            return 0;
+        }
+        long retryAfter = byIp.tryAcquire(clientIp);
+        if (retryAfter > 0 || username == null) {
+            return retryAfter;
+        }
+        return byUsername.tryAcquire(username.trim().toLowerCase(Locale.ROOT));
+    }
+}
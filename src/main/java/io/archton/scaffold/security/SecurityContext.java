@@ -2,6 +2,7 @@ package io.archton.scaffold.security;
 
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
+import jakarta.json.JsonNumber;
 import org.eclipse.microprofile.jwt.JsonWebToken;
 
 import java.util.Optional;
@@ -27,6 +28,9 @@ public class SecurityContext {
         if (userIdClaim instanceof Number) {
             return Optional.of(((Number) userIdClaim).longValue());
         }
+        if (userIdClaim instanceof JsonNumber) {
+            return Optional.of(((JsonNumber) userIdClaim).longValue());
+        }
         return Optional.empty();
     }
 
@@ -38,6 +42,9 @@ public class SecurityContext {
         if (personIdClaim instanceof Number) {
             return Optional.of(((Number) personIdClaim).longValue());
         }
+        if (personIdClaim instanceof JsonNumber) {
+            return Optional.of(((JsonNumber) personIdClaim).longValue());
+        }
         return Optional.empty();
     }
 
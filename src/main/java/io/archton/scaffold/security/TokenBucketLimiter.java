@@ -0,0 +1,125 @@
+package io.archton.scaffold.security;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by string. Keys are spread over a fixed number of stripes, each guarded by its
+ * own lock, so concurrent requests for different keys rarely contend. Each stripe keeps its buckets in
+ * access order: buckets idle for longer than {@code idleNanos} (by then refilled, so equivalent to a new
+ * one) are dropped from the cold end on every access, and a stripe never holds more than its share of
+ * {@code maxKeys}, which bounds memory even when every request uses a fresh key. A full stripe only
+ * makes room by dropping refilled buckets; while all of its buckets are draining it refuses new keys,
+ * so flooding a stripe with fresh keys cannot reset a spent bucket.
+ */
+final class TokenBucketLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final long idleNanos;
+    private final int maxKeysPerStripe;
+    private final LongSupplier clock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private static final class Bucket {
+        double tokens;
+        long updatedAt;
+
+        Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+
+    private static final class Stripe {
+        final LinkedHashMap<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    TokenBucketLimiter(int capacity, double tokensPerMinute, long idleNanos, int maxKeys, LongSupplier clock) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerMinute / 60e9;
+        // Never drop a bucket before it could have refilled, or eviction would hand out extra tokens
+        this.idleNanos = Math.max(idleNanos, (long) (capacity / tokensPerNano));
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.clock = clock;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Takes one token for {@code key}. Returns 0 when a token was taken, otherwise the number of
+     * whole seconds until one will be available.
+     */
+    long tryAcquire(String key) {
+        Stripe stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        long now = clock.getAsLong();
+        synchronized (stripe) {
+            evictIdle(stripe, now);
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                if (stripe.buckets.size() >= maxKeysPerStripe) {
+                    long retryAfter = evictRefilled(stripe, now);
+                    if (retryAfter > 0) {
+                        return retryAfter;
+                    }
+                }
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) * tokensPerNano);
+                bucket.updatedAt = now;
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - bucket.tokens) / tokensPerNano / 1e9));
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Makes room in a full stripe by dropping one bucket that has fully refilled, which is no different
+     * from a new one. Returns 0 on success. If every bucket is still draining, nothing is evicted, since
+     * that would reset a spent budget; the new key is refused instead, and the result is the seconds
+     * until the first bucket will have refilled.
+     */
+    private long evictRefilled(Stripe stripe, long now) {
+        double mostTokens = Double.NEGATIVE_INFINITY;
+        Iterator<Bucket> buckets = stripe.buckets.values().iterator();
+        while (buckets.hasNext()) {
+            Bucket bucket = buckets.next();
+            double tokens = bucket.tokens + (now - bucket.updatedAt) * tokensPerNano;
+            if (tokens >= capacity) {
+                buckets.remove();
+                return 0;
+            }
+            mostTokens = Math.max(mostTokens, tokens);
+        }
+        return Math.max(1, (long) Math.ceil((capacity - mostTokens) / tokensPerNano / 1e9));
+    }
+
+    private void evictIdle(Stripe stripe, long now) {
+        Iterator<Map.Entry<String, Bucket>> entries = stripe.buckets.entrySet().iterator();
+        while (entries.hasNext()) {
+            if (now - entries.next().getValue().updatedAt < idleNanos) {
+                return;
+            }
+            entries.remove();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.time.Instant;
 public class TokenInfo {
     private String token;
     private Instant expiresAt;
+    private String refreshToken;
 
     public TokenInfo(String token, Instant expiresAt) {
         this.token = token;
@@ -27,6 +28,14 @@ public class TokenInfo {
         this.expiresAt = expiresAt;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public long getExpiresIn() {
         return Instant.now().until(expiresAt, java.time.temporal.ChronoUnit.SECONDS);
     }
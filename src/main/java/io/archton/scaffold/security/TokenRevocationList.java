@@ -0,0 +1,108 @@
+package io.archton.scaffold.security;
+
+import io.archton.scaffold.repository.RevokedToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.json.JsonNumber;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of the revocation tables, checked for every authenticated request without touching the
+ * database. A token is revoked if its {@code jti} was revoked (logout) or if it was issued at or before
+ * its user's not-before cutoff (admin kill switch). Cutoffs are compared in milliseconds against the
+ * {@value #ISSUED_AT_MILLIS_CLAIM} claim, so a login in the same second as a revocation is still accepted;
+ * tokens without that claim count from the start of their {@code iat} second. The {@code jti} check first
+ * asks a Bloom filter, so tokens that were never revoked cost a few hashed bit reads; only filter hits
+ * consult the exact set.
+ */
+@ApplicationScoped
+public class TokenRevocationList {
+
+    public static final String ISSUED_AT_MILLIS_CLAIM = "iatMillis";
+
+    @ConfigProperty(name = "auth.revocation.expected-tokens", defaultValue = "100000")
+    int expectedTokens;
+
+    @ConfigProperty(name = "auth.revocation.false-positive-rate", defaultValue = "0.01")
+    double falsePositiveRate;
+
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<Long, Long> notBefore = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    @PostConstruct
+    void init() {
+        filter = new BloomFilter(expectedTokens, falsePositiveRate);
+    }
+
+    public boolean isRevoked(JsonWebToken token) {
+        Long userId = userId(token);
+        if (userId != null) {
+            Long cutoff = notBefore.get(userId);
+            if (cutoff != null && issuedAtMillis(token) <= cutoff) {
+                return true;
+            }
+        }
+        String jti = token.getTokenID();
+        return jti != null && filter.mightContain(jti) && revokedTokens.containsKey(jti);
+    }
+
+    public void revoke(RevokedToken token) {
+        revokedTokens.put(token.jti(), token.expiresAtSeconds());
+        filter.add(token.jti());
+    }
+
+    public void cutoff(long userId, long notBeforeMillis) {
+        notBefore.merge(userId, notBeforeMillis, Math::max);
+    }
+
+    /**
+     * Adds rows loaded from the database; existing entries are kept.
+     */
+    public void load(Collection<RevokedToken> tokens, Map<Long, Long> cutoffs) {
+        tokens.forEach(this::revoke);
+        cutoffs.forEach(this::cutoff);
+    }
+
+    /**
+     * Drops tokens that have expired (they fail validation on their own now) and rebuilds the filter
+     * from the rest, since a Bloom filter cannot forget entries.
+     */
+    public synchronized void purgeExpired(long nowSeconds) {
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= nowSeconds);
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, revokedTokens.size() * 2), falsePositiveRate);
+        revokedTokens.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        // Tokens revoked while rebuilding may have gone into the old filter only
+        revokedTokens.keySet().forEach(rebuilt::add);
+    }
+
+    public int size() {
+        return revokedTokens.size();
+    }
+
+    private static long issuedAtMillis(JsonWebToken token) {
+        Long millis = longClaim(token, ISSUED_AT_MILLIS_CLAIM);
+        return millis != null ? millis : token.getIssuedAtTime() * 1000;
+    }
+
+    private static Long userId(JsonWebToken token) {
+        return longClaim(token, "userId");
+    }
+
+    private static Long longClaim(JsonWebToken token, String name) {
+        Object claim = token.getClaim(name);
+        if (claim instanceof JsonNumber number) {
+            return number.longValue();
+        }
+        if (claim instanceof Number number) {
+            return number.longValue();
+        }
+        return null;
+    }
+}
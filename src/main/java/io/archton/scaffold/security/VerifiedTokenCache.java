@@ -0,0 +1,109 @@
+package io.archton.scaffold.security;
+
+import io.archton.scaffold.dto.CacheStats;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipal;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Claim sets of bearer tokens whose signature and claims have already been verified, keyed by the
+ * SHA-256 of the token so raw tokens are not kept as map keys. An entry is served only until the
+ * token's {@code exp}; at most {@code auth.jwt.cache.max-size} entries are held, expired ones being
+ * purged first when the cache is full.
+ */
+@ApplicationScoped
+public class VerifiedTokenCache {
+
+    private record Entry(JWTCallerPrincipal principal, long expiresAtSeconds) {
+    }
+
+    @ConfigProperty(name = "auth.jwt.cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "auth.jwt.cache.max-size", defaultValue = "10000")
+    int maxSize;
+
+    LongSupplier clockSeconds = () -> System.currentTimeMillis() / 1000;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Returns the verified principal for {@code token}, or null if it has not been verified yet or has expired.
+     */
+    public JWTCallerPrincipal get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAtSeconds() > clockSeconds.getAsLong()) {
+            hits.increment();
+            return entry.principal();
+        }
+        if (entry != null) {
+            entries.remove(key, entry);
+            evictions.increment();
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(String token, JWTCallerPrincipal principal) {
+        long expiresAt = principal.getExpirationTime();
+        if (!enabled || expiresAt <= clockSeconds.getAsLong()) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            makeRoom();
+        }
+        entries.put(hash(token), new Entry(principal, expiresAt));
+    }
+
+    public void invalidateAll() {
+        evictions.add(entries.size());
+        entries.clear();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats("verified-jwt", hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    // Expired entries go first; if that frees nothing, arbitrary entries are dropped down to 90% of capacity
+    private synchronized void makeRoom() {
+        long now = clockSeconds.getAsLong();
+        entries.values().removeIf(entry -> {
+            boolean expired = entry.expiresAtSeconds() <= now;
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() >= maxSize * 9 / 10 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -3,24 +3,33 @@ package io.archton.scaffold.service;
 import io.archton.scaffold.domain.User;
 import io.archton.scaffold.exception.EntityNotFoundException;
 import io.archton.scaffold.security.TokenInfo;
+import io.archton.scaffold.security.TokenRevocationList;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.jwt.algorithm.SignatureAlgorithm;
 import io.smallrye.jwt.build.Jwt;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
-import jakarta.transaction.Transactional;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.HashSet;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.UUID;
 
 @ApplicationScoped
 public class AuthService {
 
     private static final Logger log = Logger.getLogger(AuthService.class);
 
+    // Asymmetric only: verifiers hold the public key and must not be able to mint tokens
+    private static final Set<SignatureAlgorithm> SUPPORTED_ALGORITHMS =
+            EnumSet.of(SignatureAlgorithm.RS256, SignatureAlgorithm.ES256, SignatureAlgorithm.EDDSA);
+
     @Inject
     UserService userService;
 
@@ -30,64 +39,107 @@ public class AuthService {
     @ConfigProperty(name = "jwt.duration.minutes", defaultValue = "60")
     long tokenDurationMinutes;
 
-    @Transactional
+    // Must match the key at smallrye.jwt.sign.key.location; see JwtSigningBenchmark for the trade-offs
+    @ConfigProperty(name = "jwt.signature.algorithm", defaultValue = "RS256")
+    String signatureAlgorithmName;
+
+    private SignatureAlgorithm signatureAlgorithm;
+
+    @Inject
+    LastLoginBuffer lastLoginBuffer;
+
+    @Inject
+    RefreshTokenService refreshTokenService;
+
+    @Inject
+    UserSnapshotCache userSnapshotCache;
+
+    // Resolved at startup rather than on first use, so a misconfigured node fails to boot instead of failing every login
+    void onStart(@Observes StartupEvent event) {
+        try {
+            signatureAlgorithm = SignatureAlgorithm.fromAlgorithm(signatureAlgorithmName);
+        } catch (IllegalArgumentException e) {
+            signatureAlgorithm = null;
+        }
+        if (!SUPPORTED_ALGORITHMS.contains(signatureAlgorithm)) {
+            throw new IllegalStateException("Unsupported jwt.signature.algorithm '" + signatureAlgorithmName
+                    + "', expected one of RS256, ES256, EdDSA");
+        }
+        log.infof("Signing tokens with %s", signatureAlgorithm.getAlgorithm());
+    }
+
+    // Not transactional: the user is loaded (with person and roles) in a short transaction of its own,
+    // and bcrypt and token signing run after its connection has been returned to the pool
     public TokenInfo authenticate(String username, String password) {
         log.debugf("Authenticating user: %s", username);
 
-        if (!userService.verifyPassword(username, password)) {
+        User user = userService.findForLogin(username);
+        if (!userService.verifyPassword(user, password)) {
             log.warnf("Authentication failed for user: %s", username);
             return null;
         }
 
-        User user = userService.findByUsername(username);
-        if (user == null) {
-            log.warnf("User not found after password verification: %s", username);
-            return null;
-        }
+        // Written in batches by LastLoginBuffer rather than in this transaction
+        lastLoginBuffer.record(user.id, LocalDateTime.now());
 
-        // Update last login timestamp
-        userService.updateLastLogin(user.id);
-
-        // Generate and return the JWT token
-        return generateToken(user);
+        // Generate and return the JWT token, with a refresh token starting a new rotation family
+        TokenInfo tokenInfo = generateToken(UserSnapshot.of(user, userSnapshotCache.securityVersion(user.id)));
+        tokenInfo.setRefreshToken(refreshTokenService.issue(user.id));
+        return tokenInfo;
     }
 
-    private TokenInfo generateToken(User user) {
-        if (user == null) {
-            throw new EntityNotFoundException("User", "null");
-        }
-
-        // Extract role names from user roles
-        List<String> roles = user.roles.stream()
-                .map(role -> role.name)
-                .collect(Collectors.toList());
-
+    private TokenInfo generateToken(UserSnapshot user) {
         // Set expiration time
-        Instant expirationTime = Instant.now().plus(Duration.ofMinutes(tokenDurationMinutes));
+        Instant now = Instant.now();
+        Instant expirationTime = now.plus(Duration.ofMinutes(tokenDurationMinutes));
 
         // Build the JWT with standard claims
         String token = Jwt.issuer(issuer)
-                .subject(user.username)
-                .groups(new HashSet<>(roles))
-                .claim("name", user.person != null ? user.person.getFullName() : user.username)
-                .claim("userId", user.id)
-                .claim("personId", user.person != null ? user.person.id : null)
-                .issuedAt(Instant.now())
-                .claim("nbf", Instant.now())
+                .subject(user.username())
+                .claim("jti", UUID.randomUUID().toString())
+                .groups(new HashSet<>(user.roles()))
+                .claim("name", user.displayName())
+                .claim("userId", user.userId())
+                .claim("personId", user.personId())
+                .issuedAt(now)
+                .claim("nbf", now)
+                // iat has whole seconds only; revocation cutoffs compare at millisecond precision
+                .claim(TokenRevocationList.ISSUED_AT_MILLIS_CLAIM, now.toEpochMilli())
                 .expiresAt(expirationTime)
+                .jws()
+                .algorithm(signatureAlgorithm)
                 .sign();
 
         // Create TokenInfo with token and expiration
         return new TokenInfo(token, expirationTime);
     }
 
-    @Transactional
-    public TokenInfo refreshToken(String username) {
-        User user = userService.findByUsername(username);
+    // Re-signs from the cached snapshot; the database is read only when the user's security version has moved
+    public TokenInfo refreshToken(Long userId) {
+        UserSnapshot user = userSnapshotCache.get(userId);
         if (user == null) {
-            throw new EntityNotFoundException("User", username);
+            throw new EntityNotFoundException("User", userId);
         }
 
         return generateToken(user);
     }
-}
\ No newline at end of file
+
+    /**
+     * Exchanges a refresh token for a new access token and the next refresh token. Returns null when
+     * the refresh token is not valid.
+     */
+    public TokenInfo refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        if (rotation == null) {
+            return null;
+        }
+
+        UserSnapshot user = userSnapshotCache.get(rotation.userId());
+        if (user == null) {
+            return null;
+        }
+        TokenInfo tokenInfo = generateToken(user);
+        tokenInfo.setRefreshToken(rotation.refreshToken());
+        return tokenInfo;
+    }
+}
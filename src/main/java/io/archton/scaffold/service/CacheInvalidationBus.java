@@ -0,0 +1,328 @@
+package io.archton.scaffold.service;
+
+import io.agroal.api.AgroalDataSource;
+import io.archton.scaffold.domain.Gender;
+import io.archton.scaffold.domain.Role;
+import io.archton.scaffold.domain.Title;
+import io.archton.scaffold.repository.PersonRepository;
+import io.archton.scaffold.service.TableChangedEvent.Table;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.postgresql.ds.PGSimpleDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps the in-process caches (lookup caches, the Hibernate second-level cache, ETag counters and the
+ * person indexes) coherent across nodes sharing one database, using PostgreSQL LISTEN/NOTIFY.
+ * <p>
+ * Changed keys are collected per transaction and sent with one {@code pg_notify} statement on the
+ * transaction's own connection just before it commits. NOTIFY is transactional, so other nodes hear
+ * about a change only once it is visible to them, and never about a rolled-back one. Each node keeps
+ * one dedicated connection listening, opened outside the Agroal pool so it never holds a pooled slot or
+ * trips the pool's leak and idle handling; notifications are not queued for a disconnected listener, so
+ * after a reconnect everything is flushed rather than trusting the caches.
+ */
+@ApplicationScoped
+public class CacheInvalidationBus {
+
+    private static final Logger log = Logger.getLogger(CacheInvalidationBus.class);
+
+    private static final String NOTIFY_SQL = "select pg_notify(?, payload) from unnest(?::text[]) as payload";
+    private static final String USER_ROLES_REGION = "io.archton.scaffold.domain.User.roles";
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 30_000;
+
+    private final String origin = UUID.randomUUID().toString();
+    private final Object pendingKey = new Object();
+
+    @ConfigProperty(name = "cache.invalidation.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "cache.invalidation.channel", defaultValue = "cache_invalidation")
+    String channel;
+
+    @ConfigProperty(name = "cache.invalidation.poll-millis", defaultValue = "500")
+    int pollMillis;
+
+    // Beyond this many persons in one transaction, other nodes rebuild their indexes instead of reloading each row
+    @ConfigProperty(name = "cache.invalidation.max-person-keys", defaultValue = "100")
+    int maxPersonKeys;
+
+    @ConfigProperty(name = "quarkus.datasource.jdbc.url")
+    String jdbcUrl;
+
+    @ConfigProperty(name = "quarkus.datasource.username")
+    Optional<String> username;
+
+    @ConfigProperty(name = "quarkus.datasource.password")
+    Optional<String> password;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    TransactionSynchronizationRegistry transactions;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    PersonRepository personRepository;
+
+    @Inject
+    GenderService genderService;
+
+    @Inject
+    TitleService titleService;
+
+    @Inject
+    DataVersions dataVersions;
+
+    @Inject
+    PersonSuggestionIndex suggestionIndex;
+
+    @Inject
+    PersonFacetIndex facetIndex;
+
+    @Inject
+    UserSnapshotCache userSnapshotCache;
+
+    @Inject
+    TokenRevocationService tokenRevocationService;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    /**
+     * One changed row ({@code id} set) or a whole table ({@code id} null).
+     */
+    record Key(Table table, Long id) {
+
+        String toPayload(String origin) {
+            return origin + "|" + table + "|" + (id != null ? id : "");
+        }
+
+        static Key fromPayload(String payload) {
+            String[] parts = payload.split("\\|", -1);
+            return new Key(Table.valueOf(parts[1]), parts[2].isEmpty() ? null : Long.valueOf(parts[2]));
+        }
+    }
+
+    void onPersonChanged(@Observes PersonChangedEvent event) {
+        publish(new Key(Table.PERSON, event.id()));
+    }
+
+    void onTableChanged(@Observes TableChangedEvent event) {
+        publish(new Key(event.table(), event.id()));
+    }
+
+    private void publish(Key key) {
+        if (!enabled) {
+            return;
+        }
+        if (transactions.getTransactionKey() == null) {
+            send(Set.of(key));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Key> pending = (Set<Key>) transactions.getResource(pendingKey);
+        if (pending == null) {
+            Set<Key> keys = new LinkedHashSet<>();
+            transactions.putResource(pendingKey, keys);
+            transactions.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                    send(keys);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                }
+            });
+            pending = keys;
+        }
+        pending.add(key);
+    }
+
+    // Inside a transaction Agroal hands back the connection already enlisted in it, so the NOTIFY commits with the data
+    private void send(Set<Key> keys) {
+        long personKeys = keys.stream().filter(key -> key.table() == Table.PERSON && key.id() != null).count();
+        Set<String> payloads = new LinkedHashSet<>();
+        for (Key key : keys) {
+            if (personKeys > maxPersonKeys && key.table() == Table.PERSON) {
+                key = new Key(Table.PERSON, null);
+            }
+            payloads.add(key.toPayload(origin));
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(NOTIFY_SQL)) {
+            statement.setString(1, channel);
+            statement.setArray(2, connection.createArrayOf("text", payloads.toArray()));
+            statement.execute();
+        } catch (SQLException e) {
+            // Failing here would roll back a valid write; other nodes catch up on their next reconnect or expiry
+            log.errorf(e, "Failed to publish cache invalidation for %s", keys);
+        }
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void listen() {
+        boolean reconnect = false;
+        long delay = 1000;
+        while (running) {
+            try (Connection connection = openListenerConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+                if (reconnect) {
+                    log.info("Cache invalidation listener reconnected, flushing all caches");
+                    flushAll();
+                }
+                reconnect = true;
+                delay = 1000;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warnf("Cache invalidation listener lost its connection (%s), retrying in %d ms", e.getMessage(), delay);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                delay = Math.min(delay * 2, MAX_RECONNECT_DELAY_MILLIS);
+            }
+        }
+    }
+
+    private Connection openListenerConnection() throws SQLException {
+        PGSimpleDataSource listenerDataSource = new PGSimpleDataSource();
+        listenerDataSource.setURL(jdbcUrl);
+        username.ifPresent(listenerDataSource::setUser);
+        password.ifPresent(listenerDataSource::setPassword);
+        listenerDataSource.setTcpKeepAlive(true);
+        listenerDataSource.setApplicationName("cache-invalidation-listener");
+        return listenerDataSource.getConnection();
+    }
+
+    private void receive(String payload) {
+        if (payload.startsWith(origin + "|")) {
+            return;
+        }
+        try {
+            apply(Key.fromPayload(payload));
+        } catch (RuntimeException e) {
+            log.errorf(e, "Failed to apply cache invalidation %s", payload);
+        }
+    }
+
+    // Mirrors what the local AFTER_SUCCESS observers do for a change made on this node
+    void apply(Key key) {
+        Cache cache = sessionFactory.getCache();
+        switch (key.table()) {
+            case GENDER -> {
+                genderService.invalidateCache();
+                cache.evictEntityData(Gender.class);
+                cache.evictQueryRegions();
+            }
+            case TITLE -> {
+                titleService.invalidateCache();
+                cache.evictEntityData(Title.class);
+                cache.evictQueryRegions();
+            }
+            case ROLE -> {
+                cache.evictEntityData(Role.class);
+                cache.evictCollectionData(USER_ROLES_REGION);
+                cache.evictQueryRegions();
+                userSnapshotCache.bumpAll();
+            }
+            case USER -> {
+                if (key.id() != null) {
+                    cache.evictCollectionData(USER_ROLES_REGION, key.id());
+                    userSnapshotCache.bump(key.id());
+                } else {
+                    cache.evictCollectionData(USER_ROLES_REGION);
+                    userSnapshotCache.bumpAll();
+                }
+            }
+            case PERSON -> {
+                if (key.id() != null) {
+                    applyPersonChange(key.id());
+                    userSnapshotCache.bumpPerson(key.id());
+                } else {
+                    // Both indexes keep serving their current contents until the rebuilt ones are swapped in
+                    suggestionIndex.rebuild();
+                    facetIndex.rebuild();
+                    userSnapshotCache.bumpAll();
+                }
+            }
+            case TOKEN -> tokenRevocationService.reload(key.id());
+        }
+        dataVersions.bump(key.table());
+    }
+
+    // Reloads the committed row; the index observers are called directly so the change is not published again
+    private void applyPersonChange(Long id) {
+        PersonChangedEvent event = QuarkusTransaction.requiringNew().call(() -> personRepository.findByIdOptional(id)
+                .map(person -> PersonChangedEvent.of(PersonChangedEvent.Kind.UPDATED, person))
+                .orElseGet(() -> new PersonChangedEvent(PersonChangedEvent.Kind.DELETED, id, null, null, null, null, null)));
+        suggestionIndex.onPersonChanged(event);
+        facetIndex.onPersonChanged(event);
+    }
+
+    private void flushAll() {
+        genderService.invalidateCache();
+        titleService.invalidateCache();
+        sessionFactory.getCache().evictAllRegions();
+        userSnapshotCache.bumpAll();
+        tokenRevocationService.reload(null);
+        for (Table table : Table.values()) {
+            dataVersions.bump(table);
+        }
+        suggestionIndex.rebuild();
+        facetIndex.rebuild();
+    }
+}
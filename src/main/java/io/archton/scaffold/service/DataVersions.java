@@ -0,0 +1,107 @@
+package io.archton.scaffold.service;
+
+import io.agroal.api.AgroalDataSource;
+import io.archton.scaffold.service.TableChangedEvent.Table;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-table data versions used to derive ETags. A version is the table's row count plus its latest
+ * {@code coalesce(updated_at, created_at)}, read from the database, so every node sharing it derives the
+ * same tag for the same data. Each version is cached until a committed write bumps the table, locally or
+ * through {@link CacheInvalidationBus}. Callers take the tag before loading, so a response can at worst
+ * carry an older tag than its content (causing one redundant download), never a newer one.
+ */
+@ApplicationScoped
+public class DataVersions {
+
+    private static final Map<Table, String> TABLE_NAMES = Map.of(
+            Table.PERSON, "person",
+            Table.GENDER, "gender",
+            Table.TITLE, "title",
+            Table.ROLE, "role",
+            Table.USER, "user_login");
+
+    private static final String VERSION_SQL = "select count(*), max(coalesce(updated_at, created_at)) from %s";
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    // A cached version is only served while its table's generation is unchanged, so a bump that lands
+    // while a version is being read is never lost
+    private record Cached(long generation, String version) {
+    }
+
+    private final Map<Table, AtomicLong> generations = new EnumMap<>(Table.class);
+    private final Map<Table, Cached> cache = new ConcurrentHashMap<>();
+
+    public DataVersions() {
+        for (Table table : Table.values()) {
+            generations.put(table, new AtomicLong());
+        }
+    }
+
+    public String version(Table table) {
+        long generation = generations.get(table).get();
+        Cached cached = cache.get(table);
+        if (cached != null && cached.generation() == generation) {
+            return cached.version();
+        }
+        String version = load(table);
+        cache.put(table, new Cached(generation, version));
+        return version;
+    }
+
+    /**
+     * Builds an opaque tag for one representation (for example a path plus query string) of data
+     * read from {@code tables}; it changes whenever any of those tables changes.
+     */
+    public String tag(String representation, Table... tables) {
+        StringBuilder tag = new StringBuilder();
+        for (Table table : tables) {
+            tag.append(version(table)).append('-');
+        }
+        return tag.append(Integer.toHexString(representation.hashCode())).toString();
+    }
+
+    public void bump(Table table) {
+        generations.get(table).incrementAndGet();
+    }
+
+    void onPersonChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) PersonChangedEvent event) {
+        bump(Table.PERSON);
+    }
+
+    void onTableChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) TableChangedEvent event) {
+        bump(event.table());
+    }
+
+    private String load(Table table) {
+        String tableName = TABLE_NAMES.get(table);
+        if (tableName == null) {
+            throw new IllegalArgumentException("Table " + table + " has no data version");
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(VERSION_SQL.formatted(tableName));
+             ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            Timestamp latest = rs.getTimestamp(2);
+            long micros = latest == null ? 0 : latest.getTime() / 1000 * 1_000_000 + latest.getNanos() / 1000;
+            return Long.toString(rs.getLong(1), 36) + "." + Long.toString(micros, 36);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read the data version of " + tableName, e);
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package io.archton.scaffold.service;
 
 import io.archton.scaffold.domain.Gender;
+import io.archton.scaffold.dto.CacheStats;
+import io.archton.scaffold.dto.GenderView;
 import io.archton.scaffold.repository.GenderRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.jboss.logging.Logger;
@@ -19,25 +24,58 @@ public class GenderService {
     @Inject
     GenderRepository genderRepository;
 
+    @Inject
+    Event<TableChangedEvent> tableChanged;
+
+    private final LookupCache<Gender> cache = new LookupCache<>("gender",
+            () -> genderRepository.listSorted(), gender -> gender.id, gender -> gender.code);
+
     public List<Gender> listAll() {
         return genderRepository.listAll();
     }
 
     public List<Gender> listSorted() {
-        return genderRepository.listSorted();
+        return cache.sorted();
+    }
+
+    public List<GenderView> listViews() {
+        return genderRepository.listViews();
+    }
+
+    public GenderView findViewById(Long id) {
+        return genderRepository.findViewById(id);
+    }
+
+    public GenderView findViewByCode(String code) {
+        return genderRepository.findViewByCode(code);
     }
 
     public Gender findById(Long id) {
-        return genderRepository.findById(id);
+        return cache.byId(id);
     }
 
     public Optional<Gender> findByIdOptional(Long id) {
-        Gender gender = genderRepository.findById(id);
-        return Optional.ofNullable(gender);
+        return Optional.ofNullable(cache.byId(id));
     }
 
     public Gender findByCode(String code) {
-        return genderRepository.findByCode(code);
+        return cache.byCode(code);
+    }
+
+    public CacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    // Dropped only once the write has committed, so no reader can reload the pre-commit rows afterwards
+    void onTableChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) TableChangedEvent event) {
+        if (event.table() == TableChangedEvent.Table.GENDER) {
+            invalidateCache();
+        }
+    }
+
+    // Also called by CacheInvalidationBus when another node changed the table
+    void invalidateCache() {
+        cache.invalidate();
     }
 
     @Transactional
@@ -53,6 +91,7 @@ public class GenderService {
         checkDuplicateDescription(gender.description);
         
         genderRepository.persist(gender);
+        tableChanged.fire(new TableChangedEvent(TableChangedEvent.Table.GENDER));
         return gender;
     }
 
@@ -79,6 +118,7 @@ public class GenderService {
         
         existing.updatedAt = LocalDateTime.now();
         genderRepository.persist(existing);
+        tableChanged.fire(new TableChangedEvent(TableChangedEvent.Table.GENDER));
         return existing;
     }
 
@@ -91,6 +131,7 @@ public class GenderService {
             throw new IllegalArgumentException("Entity not found with id: " + id);
         }
         genderRepository.delete(gender);
+        tableChanged.fire(new TableChangedEvent(TableChangedEvent.Table.GENDER));
     }
 
 
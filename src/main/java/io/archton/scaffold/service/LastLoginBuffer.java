@@ -0,0 +1,94 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.repository.UserRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for {@code user_login.last_login}. Logins only record a timestamp in memory;
+ * repeated logins by one user between flushes coalesce into the latest time, and all pending users are
+ * written with a single UPDATE every few seconds and once more at shutdown. A crash loses at most one
+ * interval of login times, which are informational only.
+ */
+@ApplicationScoped
+public class LastLoginBuffer {
+
+    private static final Logger log = Logger.getLogger(LastLoginBuffer.class);
+
+    @ConfigProperty(name = "auth.last-login.flush-seconds", defaultValue = "5")
+    long flushSeconds;
+
+    @Inject
+    UserRepository userRepository;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public void record(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (previous, next) -> next.isAfter(previous) ? next : previous);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "last-login-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, flushSeconds, flushSeconds, TimeUnit.SECONDS);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(flushSeconds, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Writes every pending login time. Entries are removed one by one, so a login recorded during the
+     * flush either makes this batch or stays pending for the next one.
+     */
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, LocalDateTime> batch = new HashMap<>();
+        for (Long userId : pending.keySet()) {
+            LocalDateTime loginTime = pending.remove(userId);
+            if (loginTime != null) {
+                batch.put(userId, loginTime);
+            }
+        }
+        try {
+            QuarkusTransaction.requiringNew().run(() -> userRepository.updateLastLogins(batch));
+            log.debugf("Flushed last login times for %d users", batch.size());
+        } catch (RuntimeException e) {
+            // Put the times back for the next attempt unless a newer login has arrived meanwhile
+            batch.forEach(this::record);
+            log.errorf(e, "Failed to flush last login times for %d users", batch.size());
+        }
+    }
+}
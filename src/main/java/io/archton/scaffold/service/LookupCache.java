@@ -0,0 +1,85 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.dto.CacheStats;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Whole-table snapshot of a small lookup table (sorted list plus id and code indexes), loaded with a
+ * single query on first use and dropped by {@link #invalidate()}. The cached entities are detached and
+ * shared between threads, so callers must treat them as read-only.
+ */
+final class LookupCache<T> {
+
+    private record Snapshot<T>(long generation, List<T> sorted, Map<Long, T> byId, Map<String, T> byCode) {
+    }
+
+    private final String name;
+    private final Supplier<List<T>> loader;
+    private final Function<T, Long> idOf;
+    private final Function<T, String> codeOf;
+
+    private final AtomicReference<Snapshot<T>> snapshot = new AtomicReference<>();
+    // A load racing an invalidation is stamped with the old generation and never served
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    LookupCache(String name, Supplier<List<T>> loader, Function<T, Long> idOf, Function<T, String> codeOf) {
+        this.name = name;
+        this.loader = loader;
+        this.idOf = idOf;
+        this.codeOf = codeOf;
+    }
+
+    List<T> sorted() {
+        return snapshot().sorted();
+    }
+
+    T byId(Long id) {
+        return id == null ? null : snapshot().byId().get(id);
+    }
+
+    T byCode(String code) {
+        return code == null ? null : snapshot().byCode().get(code);
+    }
+
+    void invalidate() {
+        generation.incrementAndGet();
+        snapshot.set(null);
+        invalidations.increment();
+    }
+
+    CacheStats stats() {
+        Snapshot<T> current = snapshot.get();
+        return new CacheStats(name, hits.sum(), misses.sum(), invalidations.sum(), current != null ? current.sorted().size() : 0);
+    }
+
+    private Snapshot<T> snapshot() {
+        long expected = generation.get();
+        Snapshot<T> current = snapshot.get();
+        if (current != null && current.generation() == expected) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+        List<T> rows = List.copyOf(loader.get());
+        Map<Long, T> byId = new HashMap<>();
+        Map<String, T> byCode = new HashMap<>();
+        for (T row : rows) {
+            byId.put(idOf.apply(row), row);
+            byCode.put(codeOf.apply(row), row);
+        }
+        Snapshot<T> loaded = new Snapshot<>(expected, rows, Map.copyOf(byId), Map.copyOf(byCode));
+        snapshot.compareAndSet(current, loaded);
+        return loaded;
+    }
+}
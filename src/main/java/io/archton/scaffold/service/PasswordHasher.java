@@ -0,0 +1,110 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.dto.HashingStats;
+import io.archton.scaffold.exception.CapacityExceededException;
+import io.quarkus.elytron.security.common.BcryptUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.OptionalInt;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs bcrypt on its own small pool with a bounded queue, so a burst of logins can use at most
+ * {@code auth.hashing.threads} cores and cannot starve the worker threads serving other requests.
+ * When the queue is full the caller gets a {@link CapacityExceededException} straight away rather
+ * than waiting behind work that will take seconds to drain.
+ */
+@ApplicationScoped
+public class PasswordHasher {
+
+    // Defaults to half the cores when unset
+    @ConfigProperty(name = "auth.hashing.threads")
+    OptionalInt configuredThreads;
+
+    @ConfigProperty(name = "auth.hashing.queue-size", defaultValue = "32")
+    int queueSize;
+
+    @ConfigProperty(name = "auth.hashing.retry-after-seconds", defaultValue = "1")
+    long retryAfterSeconds;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        int threads = configuredThreads.orElse(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    public String hash(String password) {
+        return run(() -> BcryptUtil.bcryptHash(password));
+    }
+
+    public boolean matches(String password, String passwordHash) {
+        return run(() -> BcryptUtil.matches(password, passwordHash));
+    }
+
+    public HashingStats stats() {
+        return new HashingStats(executor.getCorePoolSize(), queueSize, executor.getQueue().size(), executor.getActiveCount(),
+                completed.sum(), rejected.sum(), waitNanos.sum(), hashNanos.sum());
+    }
+
+    private <T> T run(Callable<T> work) {
+        long queuedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitNanos.add(startedAt - queuedAt);
+                try {
+                    return work.call();
+                } finally {
+                    hashNanos.add(System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new CapacityExceededException("Password hashing", retryAfterSeconds);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.domain.Person;
+
+/**
+ * Fired by {@link PersonService} write paths. Carries a snapshot of the person's state at the time
+ * of the write so observers (in-memory indexes, caches) never touch the entity after the transaction ends.
+ * Observe with {@code during = TransactionPhase.AFTER_SUCCESS} to react only to committed changes.
+ */
+public record PersonChangedEvent(Kind kind, Long id, String firstName, String lastName, String email,
+                                 Long genderId, Long titleId) {
+
+    public enum Kind {
+        CREATED, UPDATED, DELETED
+    }
+
+    static PersonChangedEvent of(Kind kind, Person person) {
+        return new PersonChangedEvent(kind, person.id, person.firstName, person.lastName, person.email,
+                person.gender != null ? person.gender.id : null,
+                person.title != null ? person.title.id : null);
+    }
+}
@@ -0,0 +1,196 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.repository.PersonBulkRepository;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory bitmaps of persons per gender id and per title id. Each person gets a dense ordinal
+ * (ids in ascending order at build time, later inserts appended), so one bit per person keeps each
+ * bitmap to roughly rows/8 bytes however sparse the ids are, and filters and facet counts reduce to
+ * word-wise AND plus popcount. Built at startup and maintained from committed {@link PersonChangedEvent}s;
+ * a rebuild streams into new bitmaps without holding the lock and swaps them in, replaying the events
+ * that arrived meanwhile. Ordinals of deleted persons are only reclaimed by the next rebuild.
+ */
+@ApplicationScoped
+public class PersonFacetIndex {
+
+    private static final Logger log = Logger.getLogger(PersonFacetIndex.class);
+
+    @Inject
+    PersonBulkRepository personBulkRepository;
+
+    private final Object rebuildLock = new Object();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Bitmaps bitmaps = new Bitmaps();
+    private List<PersonChangedEvent> pending;
+
+    /**
+     * Matching ids for one page plus the total and the facet counts. Gender counts honour the
+     * title filter and title counts honour the gender filter, so each facet shows what selecting
+     * one of its values would return.
+     */
+    public record Result(List<Long> ids, int total, Map<Long, Integer> genderCounts, Map<Long, Integer> titleCounts) {
+    }
+
+    private static final class Bitmaps {
+
+        final Map<Long, Integer> ordinals = new HashMap<>();
+        long[] ids = new long[1024];
+        final BitSet all = new BitSet();
+        final Map<Long, BitSet> byGender = new HashMap<>();
+        final Map<Long, BitSet> byTitle = new HashMap<>();
+
+        void apply(PersonChangedEvent event) {
+            remove(event.id());
+            if (event.kind() != PersonChangedEvent.Kind.DELETED) {
+                add(event.id(), event.genderId(), event.titleId());
+            }
+        }
+
+        void add(long id, Long genderId, Long titleId) {
+            int bit = ordinals.computeIfAbsent(id, this::nextOrdinal);
+            all.set(bit);
+            if (genderId != null) {
+                byGender.computeIfAbsent(genderId, k -> new BitSet()).set(bit);
+            }
+            if (titleId != null) {
+                byTitle.computeIfAbsent(titleId, k -> new BitSet()).set(bit);
+            }
+        }
+
+        void remove(long id) {
+            Integer bit = ordinals.get(id);
+            if (bit != null) {
+                all.clear(bit);
+                byGender.values().forEach(bits -> bits.clear(bit));
+                byTitle.values().forEach(bits -> bits.clear(bit));
+            }
+        }
+
+        private int nextOrdinal(long id) {
+            int ordinal = ordinals.size();
+            if (ordinal == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            ids[ordinal] = id;
+            return ordinal;
+        }
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Reloads every person from the database. Queries see the previous bitmaps until the new ones are
+     * complete, and keep them if the reload fails.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.currentTimeMillis();
+            setPending(new ArrayList<>());
+            Bitmaps built = new Bitmaps();
+            try {
+                personBulkRepository.streamFacets(1000, row -> built.add(row.id(), row.genderId(), row.titleId()));
+            } catch (Exception e) {
+                setPending(null);
+                log.error("Failed to build person facet index", e);
+                return;
+            }
+
+            lock.writeLock().lock();
+            try {
+                // A streamed row may predate an event that committed during the build, so the events are replayed on top
+                pending.forEach(built::apply);
+                pending = null;
+                bitmaps = built;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.infof("Person facet index built with %d persons in %d ms", built.all.cardinality(), System.currentTimeMillis() - start);
+        }
+    }
+
+    void onPersonChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) PersonChangedEvent event) {
+        apply(List.of(event));
+    }
+
+    /**
+     * Applies committed changes that were made without firing {@link PersonChangedEvent}s (bulk import).
+     */
+    public void apply(Collection<PersonChangedEvent> events) {
+        lock.writeLock().lock();
+        try {
+            events.forEach(bitmaps::apply);
+            if (pending != null) {
+                pending.addAll(events);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setPending(List<PersonChangedEvent> events) {
+        lock.writeLock().lock();
+        try {
+            pending = events;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Filters by gender and/or title id (null means no filter) and returns ids in ordinal order
+     * for the requested window.
+     */
+    public Result query(Long genderId, Long titleId, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Bitmaps current = bitmaps;
+            BitSet genderFilter = genderId != null ? current.byGender.getOrDefault(genderId, new BitSet()) : current.all;
+            BitSet titleFilter = titleId != null ? current.byTitle.getOrDefault(titleId, new BitSet()) : current.all;
+
+            BitSet matches = (BitSet) genderFilter.clone();
+            matches.and(titleFilter);
+
+            List<Long> ids = new ArrayList<>(limit);
+            int skipped = 0;
+            for (int bit = matches.nextSetBit(0); bit >= 0 && ids.size() < limit; bit = matches.nextSetBit(bit + 1)) {
+                if (skipped++ >= offset) {
+                    ids.add(current.ids[bit]);
+                }
+            }
+            return new Result(ids, matches.cardinality(),
+                    countWithin(current.byGender, titleFilter), countWithin(current.byTitle, genderFilter));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Integer> countWithin(Map<Long, BitSet> facet, BitSet filter) {
+        Map<Long, Integer> counts = new HashMap<>();
+        facet.forEach((valueId, bits) -> {
+            BitSet intersection = (BitSet) bits.clone();
+            intersection.and(filter);
+            counts.put(valueId, intersection.cardinality());
+        });
+        return counts;
+    }
+}
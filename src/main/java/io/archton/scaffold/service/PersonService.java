@@ -1,27 +1,119 @@
 package io.archton.scaffold.service;
 
+import io.archton.scaffold.domain.Gender;
 import io.archton.scaffold.domain.Person;
+import io.archton.scaffold.domain.Title;
+import io.archton.scaffold.dto.BatchItemResult;
+import io.archton.scaffold.dto.BatchResult;
+import io.archton.scaffold.dto.PersonSuggestion;
+import io.archton.scaffold.dto.PersonView;
+import io.archton.scaffold.repository.FacetedPage;
+import io.archton.scaffold.repository.KeysetPage;
+import io.archton.scaffold.repository.PersonBulkRepository;
+import io.archton.scaffold.repository.PersonCursor;
+import io.archton.scaffold.repository.PersonExportFilter;
+import io.archton.scaffold.repository.PersonExportRow;
+import io.archton.scaffold.repository.PersonImportResult;
 import io.archton.scaffold.repository.PersonRepository;
+import io.archton.scaffold.repository.PersonUpsert;
+import io.archton.scaffold.repository.RowConsumer;
+import io.archton.scaffold.repository.SearchPage;
 import io.archton.scaffold.exception.DuplicateEntityException;
 import io.archton.scaffold.exception.EntityNotFoundException;
 import io.archton.scaffold.exception.ValidationException;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.exception.ConstraintViolationException;
 import org.jboss.logging.Logger;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class PersonService {
 
     private static final Logger log = Logger.getLogger(PersonService.class);
 
+    // Recorded in created_by/updated_by for rows written by the bulk import
+    private static final String IMPORT_USER = "import";
+
+    // Constraint names PostgreSQL assigned in V1.5__Create_person_table.sql
+    private static final String EMAIL_UNIQUE_CONSTRAINT = "person_email_key";
+    private static final String GENDER_FOREIGN_KEY = "fk_person_gender";
+    private static final String TITLE_FOREIGN_KEY = "fk_person_title";
+
     @Inject
     PersonRepository personRepository;
 
+    @Inject
+    PersonBulkRepository personBulkRepository;
+
+    @Inject
+    PersonSuggestionIndex personSuggestionIndex;
+
+    @Inject
+    PersonFacetIndex personFacetIndex;
+
+    @Inject
+    GenderService genderService;
+
+    @Inject
+    TitleService titleService;
+
+    @Inject
+    Event<PersonChangedEvent> personChanged;
+
+    @Inject
+    Event<TableChangedEvent> tableChanged;
+
+    @Inject
+    Validator validator;
+
+    @ConfigProperty(name = "persons.page.default-size", defaultValue = "25")
+    int defaultPageSize;
+
+    @ConfigProperty(name = "persons.page.max-size", defaultValue = "100")
+    int maxPageSize;
+
+    @ConfigProperty(name = "persons.stream.fetch-size", defaultValue = "500")
+    int streamFetchSize;
+
+    @ConfigProperty(name = "persons.suggest.default-results", defaultValue = "10")
+    int defaultSuggestResults;
+
+    @ConfigProperty(name = "persons.suggest.max-results", defaultValue = "50")
+    int maxSuggestResults;
+
+    @ConfigProperty(name = "persons.batch.max-size", defaultValue = "5000")
+    int maxBatchSize;
+
+    @ConfigProperty(name = "persons.import.max-rejections", defaultValue = "100")
+    int maxImportRejections;
+
+    // Matches ranked per search; pages past this many results come back empty
+    @ConfigProperty(name = "persons.search.max-candidates", defaultValue = "1000")
+    int maxSearchCandidates;
+
     public List<Person> listAll() {
         return personRepository.listAll();
     }
@@ -30,6 +122,133 @@ public class PersonService {
         return personRepository.listSorted();
     }
 
+    public KeysetPage<Person> listPage(String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        PersonCursor after = cursor == null || cursor.isBlank() ? null : PersonCursor.decode(cursor);
+        return toPage(personRepository.listAfter(after, pageSize + 1), pageSize, PersonCursor::of);
+    }
+
+    public List<PersonView> listViewsSorted() {
+        return personRepository.listViewsSorted();
+    }
+
+    public KeysetPage<PersonView> listViewPage(String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        PersonCursor after = cursor == null || cursor.isBlank() ? null : PersonCursor.decode(cursor);
+        return toPage(personRepository.listViewsAfter(after, pageSize + 1), pageSize, PersonCursor::of);
+    }
+
+    public SearchPage<PersonView> search(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("q", "Search query is required");
+        }
+        if (page != null && page < 0) {
+            throw new ValidationException("page", "Page number must not be negative");
+        }
+        int pageNumber = page != null ? page : 0;
+        int pageSize = resolvePageSize(size);
+
+        List<Long> ids = personRepository.searchIds(query.trim(), pageNumber * pageSize, pageSize + 1, maxSearchCandidates);
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+
+        return new SearchPage<>(findViewsInOrder(pageIds), pageNumber, pageSize, hasMore);
+    }
+
+    /**
+     * Filters persons by gender and/or title code using the in-memory facet bitmaps and
+     * returns one page of matches (in id order, with persons created since the index
+     * was last built at the end) with the total and per-code facet counts.
+     */
+    public FacetedPage<PersonView> filter(String genderCode, String titleCode, Integer page, Integer limit) {
+        if (page != null && page < 0) {
+            throw new ValidationException("page", "Page number must not be negative");
+        }
+        int pageNumber = page != null ? page : 0;
+        int pageSize = resolvePageSize(limit);
+
+        List<Gender> genders = genderService.listSorted();
+        List<Title> titles = titleService.listSorted();
+        Long genderId = resolveCode("gender", genderCode, genders.stream().collect(Collectors.toMap(g -> g.code, g -> g.id)));
+        Long titleId = resolveCode("title", titleCode, titles.stream().collect(Collectors.toMap(t -> t.code, t -> t.id)));
+
+        PersonFacetIndex.Result result = personFacetIndex.query(genderId, titleId, pageNumber * pageSize, pageSize);
+
+        Map<String, Integer> genderFacet = new LinkedHashMap<>();
+        genders.forEach(g -> genderFacet.put(g.code, result.genderCounts().getOrDefault(g.id, 0)));
+        Map<String, Integer> titleFacet = new LinkedHashMap<>();
+        titles.forEach(t -> titleFacet.put(t.code, result.titleCounts().getOrDefault(t.id, 0)));
+
+        return new FacetedPage<>(findViewsInOrder(result.ids()), pageNumber, pageSize, result.total(),
+                Map.of("gender", genderFacet, "title", titleFacet));
+    }
+
+    public List<PersonSuggestion> suggest(String prefix, Integer limit) {
+        int results = limit != null ? Math.min(limit, maxSuggestResults) : defaultSuggestResults;
+        return personSuggestionIndex.suggest(prefix, results);
+    }
+
+    public PersonView findViewById(Long id) {
+        return personRepository.findViewById(id);
+    }
+
+    public PersonView findViewByEmail(String email) {
+        return personRepository.findViewByEmail(email);
+    }
+
+    public void streamAll(RowConsumer<PersonExportRow> consumer) throws SQLException, IOException {
+        personBulkRepository.streamAll(streamFetchSize, consumer);
+    }
+
+    /**
+     * Resolves optional gender/title codes for {@link #exportCsv}; done up front so an unknown
+     * code is reported before the response starts streaming.
+     */
+    public PersonExportFilter exportFilter(String genderCode, String titleCode) {
+        Long genderId = genderCode == null || genderCode.isBlank() ? null
+                : resolveCode("gender", genderCode, genderService.listSorted().stream().collect(Collectors.toMap(g -> g.code, g -> g.id)));
+        Long titleId = titleCode == null || titleCode.isBlank() ? null
+                : resolveCode("title", titleCode, titleService.listSorted().stream().collect(Collectors.toMap(t -> t.code, t -> t.id)));
+        return new PersonExportFilter(genderId, titleId);
+    }
+
+    public long exportCsv(PersonExportFilter filter, OutputStream output) throws SQLException, IOException {
+        return personBulkRepository.exportCsv(filter, output);
+    }
+
+    /**
+     * Imports a CSV file through the COPY-based bulk path. The merge bypasses Hibernate and fires no
+     * per-row change events, so the rows it returns are applied to the in-memory indexes directly and
+     * other nodes are told about the table as a whole.
+     */
+    public PersonImportResult importCsv(InputStream csv) throws SQLException, IOException {
+        log.debug("Importing persons from CSV");
+
+        PersonImportResult result;
+        List<PersonChangedEvent> changes = new ArrayList<>();
+        try {
+            result = personBulkRepository.importCsv(csv, IMPORT_USER, Math.max(1, maxImportRejections),
+                    row -> changes.add(new PersonChangedEvent(
+                            row.inserted() ? PersonChangedEvent.Kind.CREATED : PersonChangedEvent.Kind.UPDATED,
+                            row.id(), row.firstName(), row.lastName(), row.email(), row.genderId(), row.titleId())));
+        } catch (SQLException e) {
+            // SQLSTATE class 22 (data exception) is what COPY raises for malformed CSV input
+            if (e.getSQLState() != null && e.getSQLState().startsWith("22")) {
+                throw new ValidationException("file", "Invalid CSV: " + e.getMessage());
+            }
+            throw e;
+        }
+
+        if (!changes.isEmpty()) {
+            personSuggestionIndex.apply(changes);
+            personFacetIndex.apply(changes);
+            tableChanged.fire(new TableChangedEvent(TableChangedEvent.Table.PERSON));
+        }
+        log.infof("Imported persons: %d rows, %d inserted, %d updated, %d rejected",
+                result.rows(), result.inserted(), result.updated(), result.rejected());
+        return result;
+    }
+
     public Person findById(Long id) {
         return personRepository.findById(id);
     }
@@ -52,12 +271,92 @@ public class PersonService {
         }
 
         normalizePersonData(person);
-        checkDuplicateEmail(person.email);
 
         personRepository.persist(person);
+        flushDetectingConflicts(person.email, "create");
+        personChanged.fire(PersonChangedEvent.of(PersonChangedEvent.Kind.CREATED, person));
         return person;
     }
 
+    /**
+     * Creates many persons in one transaction. Items that fail validation, repeat an email, or
+     * reference an unknown gender/title are rejected individually; duplicates against the table are
+     * found with a single query, and the remaining rows go out as one insert that skips emails taken meanwhile.
+     */
+    @Transactional
+    public BatchResult createPersons(List<Person> persons) {
+        if (persons == null || persons.isEmpty()) {
+            throw new ValidationException("persons", "At least one person is required");
+        }
+        if (persons.size() > maxBatchSize) {
+            throw new ValidationException("persons", "Batch must not exceed " + maxBatchSize + " persons");
+        }
+        log.debugf("Creating batch of %d persons", persons.size());
+
+        BatchItemResult[] results = new BatchItemResult[persons.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < persons.size(); i++) {
+            Person person = persons.get(i);
+            String error = validateBatchItem(person);
+            if (error != null) {
+                results[i] = BatchItemResult.rejected(i, person != null ? person.email : null, error);
+                continue;
+            }
+            if (person.email == null) {
+                results[i] = BatchItemResult.rejected(i, null, "Person email is required");
+                continue;
+            }
+            Integer first = candidates.putIfAbsent(person.email, i);
+            if (first != null) {
+                results[i] = BatchItemResult.rejected(i, person.email, "Email duplicates item " + first + " in this batch");
+            }
+        }
+
+        Set<String> existingEmails = personRepository.findExistingEmails(candidates.keySet());
+        Map<Long, Gender> genders = new HashMap<>();
+        Map<Long, Title> titles = new HashMap<>();
+        List<Person> accepted = new ArrayList<>();
+        for (int i : candidates.values()) {
+            Person person = persons.get(i);
+            if (existingEmails.contains(person.email)) {
+                results[i] = BatchItemResult.rejected(i, person.email,
+                        new DuplicateEntityException("Person", "email", person.email).getMessage());
+                continue;
+            }
+            if (person.gender != null) {
+                person.gender = person.gender.id != null ? genders.computeIfAbsent(person.gender.id, genderService::findById) : null;
+                if (person.gender == null) {
+                    results[i] = BatchItemResult.rejected(i, person.email, "Unknown gender");
+                    continue;
+                }
+            }
+            if (person.title != null) {
+                person.title = person.title.id != null ? titles.computeIfAbsent(person.title.id, titleService::findById) : null;
+                if (person.title == null) {
+                    results[i] = BatchItemResult.rejected(i, person.email, "Unknown title");
+                    continue;
+                }
+            }
+            accepted.add(person);
+        }
+
+        // One multi-row insert; an email taken by a concurrent writer since the lookup above is rejected
+        // for that item alone rather than failing the whole batch on the unique constraint
+        Set<String> inserted = personRepository.insertIfAbsent(accepted);
+
+        for (Person person : accepted) {
+            int i = candidates.get(person.email);
+            if (!inserted.contains(person.email)) {
+                results[i] = BatchItemResult.rejected(i, person.email,
+                        new DuplicateEntityException("Person", "email", person.email).getMessage());
+                continue;
+            }
+            results[i] = BatchItemResult.created(i, person.id, person.email);
+            personChanged.fire(PersonChangedEvent.of(PersonChangedEvent.Kind.CREATED, person));
+        }
+        return BatchResult.of(Arrays.asList(results));
+    }
+
     @Transactional
     public Person updatePerson(Long id, Person updates) {
         log.debugf("Updating person id: %s", id);
@@ -79,7 +378,6 @@ public class PersonService {
 
         if (updates.email != null) {
             normalizeEmail(updates);
-            checkDuplicateEmailForUpdate(updates.email, id);
             existing.email = updates.email;
         }
 
@@ -91,9 +389,49 @@ public class PersonService {
 
         existing.updatedAt = LocalDateTime.now();
         personRepository.persist(existing);
+        flushDetectingConflicts(existing.email, "update");
+        personChanged.fire(PersonChangedEvent.of(PersonChangedEvent.Kind.UPDATED, existing));
         return existing;
     }
 
+    /**
+     * Creates or replaces the person with the given email using a single INSERT ... ON CONFLICT
+     * statement. The email in the path is authoritative; one in the body must match it.
+     */
+    @Transactional
+    public PersonUpsert upsertByEmail(String email, Person person) {
+        log.debugf("Upserting person with email: %s", email);
+
+        if (person.id != null) {
+            throw new ValidationException("id", "ID must not be included in upsert request");
+        }
+        String bodyEmail = person.email;
+        person.email = email;
+        normalizePersonData(person);
+        if (bodyEmail != null && !bodyEmail.trim().equalsIgnoreCase(person.email)) {
+            throw new ValidationException("email", "Email in the request body must match the path");
+        }
+        Set<ConstraintViolation<Person>> violations = validator.validate(person);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<Person> violation = violations.iterator().next();
+            throw new ValidationException(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+
+        PersonUpsert result;
+        try {
+            result = personRepository.upsertByEmail(person);
+        } catch (PersistenceException e) {
+            throw translateConstraintViolation(e, person.email, "upsert");
+        }
+
+        personChanged.fire(new PersonChangedEvent(
+                result.created() ? PersonChangedEvent.Kind.CREATED : PersonChangedEvent.Kind.UPDATED,
+                result.id(), person.firstName, person.lastName, person.email,
+                person.gender != null ? person.gender.id : null,
+                person.title != null ? person.title.id : null));
+        return result;
+    }
+
     @Transactional
     public void deletePerson(Long id) {
         log.debugf("Deleting person id: %s", id);
@@ -104,8 +442,69 @@ public class PersonService {
         }
 
         personRepository.delete(person);
+        personChanged.fire(PersonChangedEvent.of(PersonChangedEvent.Kind.DELETED, person));
+    }
+
+
+    private Long resolveCode(String facet, String code, Map<String, Long> idsByCode) {
+        if (code == null || code.isBlank()) {
+            return null;
+        }
+        Long id = idsByCode.get(code.trim().toUpperCase());
+        if (id == null) {
+            throw new ValidationException(facet, "Unknown " + facet + " code: " + code);
+        }
+        return id;
+    }
+
+    // Projection queries do not preserve the order of an id list, so restore it afterwards
+    private List<PersonView> findViewsInOrder(List<Long> ids) {
+        Map<Long, Integer> position = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            position.put(ids.get(i), i);
+        }
+        return personRepository.findViewsByIds(ids).stream()
+                .sorted(Comparator.comparing(view -> position.get(view.id())))
+                .toList();
+    }
+
+    // Callers fetch one extra row so we learn whether another page follows without a count query
+    private <T> KeysetPage<T> toPage(List<T> rows, int pageSize, Function<T, PersonCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null, pageSize);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new KeysetPage<>(items, cursorOf.apply(items.get(pageSize - 1)).encode(), pageSize);
     }
 
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (limit < 1) {
+            throw new ValidationException("limit", "Page size must be at least 1");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    private String validateBatchItem(Person person) {
+        if (person == null) {
+            return "Person is required";
+        }
+        if (person.id != null) {
+            return "ID must not be included in POST request";
+        }
+        // Normalized first, as createPerson does, so padded values are validated as they will be stored
+        normalizePersonData(person);
+        Set<ConstraintViolation<Person>> violations = validator.validate(person);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
 
     private void normalizePersonData(Person person) {
         normalizeFirstName(person);
@@ -138,24 +537,33 @@ public class PersonService {
     }
 
 
-    private void checkDuplicateEmail(String email) {
-        if (email != null && !email.trim().isEmpty()) {
-            if (personRepository.findByEmail(email) != null) {
-                throw new DuplicateEntityException("Person", "email", email);
-            }
+    // Lets the unique constraint arbitrate duplicate emails instead of a racy SELECT beforehand
+    private void flushDetectingConflicts(String email, String operation) {
+        try {
+            personRepository.flush();
+        } catch (PersistenceException e) {
+            throw translateConstraintViolation(e, email, operation);
         }
     }
 
-    private void checkDuplicateEmailForUpdate(String email, Long excludeId) {
-        if (email != null && !email.trim().isEmpty()) {
-            Person existing = personRepository.findByEmailExcludingId(email, excludeId);
-            if (existing != null) {
-                throw new DuplicateEntityException("Person", "email", email, "update");
-            }
+    private RuntimeException translateConstraintViolation(PersistenceException e, String email, String operation) {
+        Throwable cause = e;
+        while (cause != null && !(cause instanceof ConstraintViolationException)) {
+            cause = cause.getCause();
+        }
+        if (cause == null) {
+            return e;
         }
+        String constraint = ((ConstraintViolationException) cause).getConstraintName();
+        if (EMAIL_UNIQUE_CONSTRAINT.equalsIgnoreCase(constraint)) {
+            return new DuplicateEntityException("Person", "email", email, operation, e);
+        }
+        if (GENDER_FOREIGN_KEY.equalsIgnoreCase(constraint)) {
+            return new ValidationException("gender", "Unknown gender");
+        }
+        if (TITLE_FOREIGN_KEY.equalsIgnoreCase(constraint)) {
+            return new ValidationException("title", "Unknown title");
+        }
+        return e;
     }
-
-
-
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,188 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.dto.PersonSuggestion;
+import io.archton.scaffold.repository.PersonBulkRepository;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory prefix index over normalized person last names, first names and emails.
+ * Keys are {@code term + '\0' + id} in a sorted skip list, so a prefix lookup is a
+ * logarithmic seek followed by an in-order scan that stops after {@code limit} distinct persons.
+ * Built once at startup and maintained from committed {@link PersonChangedEvent}s; never queries
+ * the database on the lookup path. A rebuild streams into fresh maps while lookups keep reading the
+ * published ones, replays the events that arrived meanwhile, and then swaps the maps in at once.
+ */
+@ApplicationScoped
+public class PersonSuggestionIndex {
+
+    private static final Logger log = Logger.getLogger(PersonSuggestionIndex.class);
+
+    private static final char KEY_SEPARATOR = '\0';
+
+    @Inject
+    PersonBulkRepository personBulkRepository;
+
+    private final Object rebuildLock = new Object();
+
+    private volatile Maps maps = new Maps();
+
+    // Events applied while a rebuild streams; null otherwise. Guarded by this
+    private List<PersonChangedEvent> pending;
+
+    private record Entry(Long id, String firstName, String lastName, String email) {
+
+        List<String> keys() {
+            List<String> keys = new ArrayList<>(3);
+            for (String term : new String[]{lastName, firstName, email}) {
+                String normalized = normalize(term);
+                if (!normalized.isEmpty()) {
+                    keys.add(normalized + KEY_SEPARATOR + id);
+                }
+            }
+            return keys;
+        }
+
+        PersonSuggestion toSuggestion() {
+            String name = firstName != null && !firstName.isBlank() ? firstName + " " + lastName : lastName;
+            return new PersonSuggestion(id, name, email);
+        }
+    }
+
+    private static final class Maps {
+
+        final ConcurrentSkipListMap<String, Long> terms = new ConcurrentSkipListMap<>();
+        final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+        void apply(PersonChangedEvent event) {
+            remove(event.id());
+            if (event.kind() != PersonChangedEvent.Kind.DELETED) {
+                put(new Entry(event.id(), event.firstName(), event.lastName(), event.email()));
+            }
+        }
+
+        void put(Entry entry) {
+            entries.put(entry.id(), entry);
+            for (String key : entry.keys()) {
+                terms.put(key, entry.id());
+            }
+        }
+
+        void remove(Long id) {
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                for (String key : previous.keys()) {
+                    terms.remove(key);
+                }
+            }
+        }
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Reloads every person from the database. Lookups see the previous contents until the new maps are
+     * complete, and keep them if the reload fails.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.currentTimeMillis();
+            startRecording();
+            Maps built = new Maps();
+            try {
+                personBulkRepository.streamAll(1000, row -> built.put(new Entry(row.id(), row.firstName(), row.lastName(), row.email())));
+            } catch (Exception e) {
+                stopRecording();
+                log.error("Failed to build person suggestion index", e);
+                return;
+            }
+            publish(built);
+            log.infof("Person suggestion index built with %d persons in %d ms", built.entries.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    void onPersonChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) PersonChangedEvent event) {
+        apply(List.of(event));
+    }
+
+    /**
+     * Applies committed changes that were made without firing {@link PersonChangedEvent}s (bulk import).
+     */
+    public synchronized void apply(Collection<PersonChangedEvent> events) {
+        for (PersonChangedEvent event : events) {
+            maps.apply(event);
+        }
+        if (pending != null) {
+            pending.addAll(events);
+        }
+    }
+
+    private synchronized void startRecording() {
+        pending = new ArrayList<>();
+    }
+
+    private synchronized void stopRecording() {
+        pending = null;
+    }
+
+    // A streamed row may predate an event that committed during the build, so the events are replayed on top
+    private synchronized void publish(Maps built) {
+        for (PersonChangedEvent event : pending) {
+            built.apply(event);
+        }
+        pending = null;
+        maps = built;
+    }
+
+    /**
+     * Returns up to {@code limit} distinct persons having a name or email starting with {@code prefix}.
+     */
+    public List<PersonSuggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        Maps current = maps;
+        NavigableMap<String, Long> matches = current.terms.subMap(normalized, true, normalized + Character.MAX_VALUE, false);
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Long id : matches.values()) {
+            ids.add(id);
+            if (ids.size() == limit) {
+                break;
+            }
+        }
+        List<PersonSuggestion> suggestions = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Entry entry = current.entries.get(id);
+            if (entry != null) {
+                suggestions.add(entry.toSuggestion());
+            }
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        return maps.entries.size();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
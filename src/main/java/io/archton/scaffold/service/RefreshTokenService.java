@@ -0,0 +1,138 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.domain.RefreshToken;
+import io.archton.scaffold.repository.RefreshTokenRepository;
+import io.archton.scaffold.repository.RefreshTokenRotation;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues and rotates opaque refresh tokens. Tokens are 256 random bits handed to the client once;
+ * only their SHA-256 is stored, which is enough for tokens of this entropy and keeps validation to one
+ * indexed lookup. Every refresh consumes the presented token and returns its successor. Presenting a
+ * consumed token means it was copied, so the whole family descending from that login is revoked.
+ */
+@ApplicationScoped
+public class RefreshTokenService {
+
+    private static final Logger log = Logger.getLogger(RefreshTokenService.class);
+
+    @ConfigProperty(name = "jwt.refresh.duration.days", defaultValue = "14")
+    long refreshDurationDays;
+
+    @Inject
+    RefreshTokenRepository refreshTokenRepository;
+
+    private final SecureRandom random = new SecureRandom();
+    private ScheduledExecutorService purger;
+
+    /**
+     * A successful rotation: the token's owner and the successor token to hand back to the client.
+     */
+    public record Rotation(long userId, String refreshToken) {
+    }
+
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID());
+    }
+
+    /**
+     * Exchanges a refresh token for its successor. Returns null when the token is unknown, expired or
+     * revoked, or has already been used; in the last case the token's family is revoked as well.
+     */
+    @Transactional
+    public Rotation rotate(String refreshToken) {
+        LocalDateTime now = LocalDateTime.now();
+        String tokenHash = hash(refreshToken);
+        RefreshTokenRotation rotation = refreshTokenRepository.rotate(tokenHash, now);
+        if (rotation != null) {
+            return new Rotation(rotation.userId(), issue(rotation.userId(), rotation.familyId()));
+        }
+
+        RefreshToken reused = refreshTokenRepository.findByTokenHash(tokenHash);
+        if (reused != null && reused.rotatedAt != null) {
+            long revoked = refreshTokenRepository.revokeFamily(reused.familyId, now);
+            log.warnf("Refresh token reuse detected for user %d, revoked %d tokens", reused.userId, revoked);
+        }
+        return null;
+    }
+
+    /**
+     * Revokes the token's whole family, ending the login it descends from. Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String refreshToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(refreshToken));
+        if (token != null) {
+            refreshTokenRepository.revokeFamily(token.familyId, LocalDateTime.now());
+        }
+    }
+
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "refresh-token-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purger.scheduleWithFixedDelay(this::purgeExpired, 1, 60, TimeUnit.MINUTES);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (purger != null) {
+            purger.shutdown();
+        }
+    }
+
+    // Consumed tokens are kept until they expire so that replaying them is still recognised as reuse
+    void purgeExpired() {
+        try {
+            long deleted = QuarkusTransaction.requiringNew().call(() -> refreshTokenRepository.deleteExpired(LocalDateTime.now()));
+            log.debugf("Purged %d expired refresh tokens", deleted);
+        } catch (RuntimeException e) {
+            log.error("Failed to purge expired refresh tokens", e);
+        }
+    }
+
+    private String issue(Long userId, UUID familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.persist(new RefreshToken(hash(refreshToken), userId, familyId,
+                LocalDateTime.now().plusDays(refreshDurationDays)));
+        return refreshToken;
+    }
+
+    static String hash(String refreshToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(refreshToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package io.archton.scaffold.service;
+
+/**
+ * Fired when rows of a table change through a path that has no entity-level event (lookup and user
+ * writes, bulk loads, token revocations). {@code id} names the changed row when there is exactly one, otherwise it is null.
+ * Like {@link PersonChangedEvent}, observe with {@code during = TransactionPhase.AFTER_SUCCESS}.
+ */
+public record TableChangedEvent(Table table, Long id) {
+
+    public enum Table {
+        PERSON, GENDER, TITLE, ROLE, USER, TOKEN
+    }
+
+    public TableChangedEvent(Table table) {
+        this(table, null);
+    }
+}
@@ -1,8 +1,13 @@
 package io.archton.scaffold.service;
 
 import io.archton.scaffold.domain.Title;
+import io.archton.scaffold.dto.CacheStats;
+import io.archton.scaffold.dto.TitleView;
 import io.archton.scaffold.repository.TitleRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.jboss.logging.Logger;
@@ -19,25 +24,58 @@ public class TitleService {
     @Inject
     TitleRepository titleRepository;
 
+    @Inject
+    Event<TableChangedEvent> tableChanged;
+
+    private final LookupCache<Title> cache = new LookupCache<>("title",
+            () -> titleRepository.listSorted(), title -> title.id, title -> title.code);
+
     public List<Title> listAll() {
         return titleRepository.listAll();
     }
 
     public List<Title> listSorted() {
-        return titleRepository.listSorted();
+        return cache.sorted();
+    }
+
+    public List<TitleView> listViews() {
+        return titleRepository.listViews();
+    }
+
+    public TitleView findViewById(Long id) {
+        return titleRepository.findViewById(id);
+    }
+
+    public TitleView findViewByCode(String code) {
+        return titleRepository.findViewByCode(code);
     }
 
     public Title findById(Long id) {
-        return titleRepository.findById(id);
+        return cache.byId(id);
     }
 
     public Optional<Title> findByIdOptional(Long id) {
-        Title title = titleRepository.findById(id);
-        return Optional.ofNullable(title);
+        return Optional.ofNullable(cache.byId(id));
     }
 
     public Title findByCode(String code) {
-        return titleRepository.findByCode(code);
+        return cache.byCode(code);
+    }
+
+    public CacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    // Dropped only once the write has committed, so no reader can reload the pre-commit rows afterwards
+    void onTableChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) TableChangedEvent event) {
+        if (event.table() == TableChangedEvent.Table.TITLE) {
+            invalidateCache();
+        }
+    }
+
+    // Also called by CacheInvalidationBus when another node changed the table
+    void invalidateCache() {
+        cache.invalidate();
     }
 
     @Transactional
@@ -53,6 +91,7 @@ public class TitleService {
         checkDuplicateDescription(title.description);
         
         titleRepository.persist(title);
+        tableChanged.fire(new TableChangedEvent(TableChangedEvent.Table.TITLE));
         return title;
     }
 
@@ -79,6 +118,7 @@ public class TitleService {
         
         existing.updatedAt = LocalDateTime.now();
         titleRepository.persist(existing);
+        tableChanged.fire(new TableChangedEvent(TableChangedEvent.Table.TITLE));
         return existing;
     }
 
@@ -91,6 +131,7 @@ public class TitleService {
             throw new IllegalArgumentException("Entity not found with id: " + id);
         }
         titleRepository.delete(title);
+        tableChanged.fire(new TableChangedEvent(TableChangedEvent.Table.TITLE));
     }
 
 
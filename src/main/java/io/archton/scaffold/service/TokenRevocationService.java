@@ -0,0 +1,151 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.exception.EntityNotFoundException;
+import io.archton.scaffold.repository.RevokedToken;
+import io.archton.scaffold.repository.TokenRevocationRepository;
+import io.archton.scaffold.repository.UserRepository;
+import io.archton.scaffold.security.TokenRevocationList;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.json.JsonNumber;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revokes access tokens before they expire: one token on logout, or every token of a user issued up
+ * to now (admin kill switch). Revocations are written to the database, applied to this node's
+ * {@link TokenRevocationList} at once, and announced as {@code TableChangedEvent(TOKEN, userId)} so
+ * other nodes reload that user's revocations; every node loads the full list at startup. Since the
+ * announcement can be lost (a failed {@code pg_notify}, a listener between reconnects), each node also
+ * reloads the full list every {@code auth.revocation.reload-seconds}, bounding how long a peer can keep
+ * accepting a revoked token.
+ */
+@ApplicationScoped
+public class TokenRevocationService {
+
+    private static final Logger log = Logger.getLogger(TokenRevocationService.class);
+
+    @ConfigProperty(name = "auth.revocation.reload-seconds", defaultValue = "60")
+    int reloadSeconds;
+
+    @Inject
+    TokenRevocationRepository tokenRevocationRepository;
+
+    @Inject
+    TokenRevocationList tokenRevocationList;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    RefreshTokenService refreshTokenService;
+
+    @Inject
+    Event<TableChangedEvent> tableChanged;
+
+    private ScheduledExecutorService purger;
+
+    @Transactional
+    public void revokeToken(JsonWebToken token) {
+        Long userId = userId(token);
+        if (userId == null || token.getTokenID() == null) {
+            throw new IllegalArgumentException("Token has no userId or jti claim and cannot be revoked");
+        }
+        RevokedToken revoked = new RevokedToken(token.getTokenID(), userId, token.getExpirationTime());
+        tokenRevocationRepository.insertRevokedToken(revoked);
+        // Applied before commit: revocation only ever narrows access, so a rollback costs a re-login at most
+        tokenRevocationList.revoke(revoked);
+        tableChanged.fire(new TableChangedEvent(TableChangedEvent.Table.TOKEN, userId));
+    }
+
+    /**
+     * Rejects every access token of the user issued up to now and revokes all of its refresh tokens.
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        if (userRepository.findById(userId) == null) {
+            throw new EntityNotFoundException("User", userId);
+        }
+        long now = System.currentTimeMillis();
+        tokenRevocationRepository.upsertCutoff(userId, now);
+        refreshTokenService.revokeAllForUser(userId);
+        tokenRevocationList.cutoff(userId, now);
+        tableChanged.fire(new TableChangedEvent(TableChangedEvent.Table.TOKEN, userId));
+        log.infof("Revoked all tokens of user %d", userId);
+    }
+
+    /**
+     * Reloads revocations from the database: one user's when {@code userId} is set, otherwise everyone's.
+     */
+    public void reload(Long userId) {
+        long now = System.currentTimeMillis() / 1000;
+        QuarkusTransaction.requiringNew().run(() -> {
+            List<RevokedToken> tokens = tokenRevocationRepository.listRevokedTokens(userId, now);
+            Map<Long, Long> cutoffs = tokenRevocationRepository.listCutoffs(userId);
+            tokenRevocationList.load(tokens, cutoffs);
+        });
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        reload(null);
+        log.infof("Token revocation list loaded with %d revoked tokens", tokenRevocationList.size());
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purger.scheduleWithFixedDelay(this::purgeExpired, 1, 60, TimeUnit.MINUTES);
+        if (reloadSeconds > 0) {
+            purger.scheduleWithFixedDelay(this::reloadAll, reloadSeconds, reloadSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (purger != null) {
+            purger.shutdown();
+        }
+    }
+
+    void reloadAll() {
+        try {
+            reload(null);
+        } catch (RuntimeException e) {
+            log.error("Failed to reload token revocations", e);
+        }
+    }
+
+    void purgeExpired() {
+        long now = System.currentTimeMillis() / 1000;
+        try {
+            int deleted = QuarkusTransaction.requiringNew().call(() -> tokenRevocationRepository.deleteExpired(now));
+            tokenRevocationList.purgeExpired(now);
+            log.debugf("Purged %d expired token revocations", deleted);
+        } catch (RuntimeException e) {
+            log.error("Failed to purge expired token revocations", e);
+        }
+    }
+
+    private static Long userId(JsonWebToken token) {
+        Object claim = token.getClaim("userId");
+        if (claim instanceof JsonNumber number) {
+            return number.longValue();
+        }
+        if (claim instanceof Number number) {
+            return number.longValue();
+        }
+        return null;
+    }
+}
@@ -3,14 +3,15 @@ package io.archton.scaffold.service;
 import io.archton.scaffold.domain.Person;
 import io.archton.scaffold.domain.Role;
 import io.archton.scaffold.domain.User;
+import io.archton.scaffold.dto.UserView;
 import io.archton.scaffold.exception.DuplicateEntityException;
 import io.archton.scaffold.exception.EntityNotFoundException;
 import io.archton.scaffold.exception.ValidationException;
 import io.archton.scaffold.repository.PersonRepository;
 import io.archton.scaffold.repository.RoleRepository;
 import io.archton.scaffold.repository.UserRepository;
-import io.quarkus.elytron.security.common.BcryptUtil;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.jboss.logging.Logger;
@@ -18,6 +19,7 @@ import org.jboss.logging.Logger;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @ApplicationScoped
 public class UserService {
@@ -33,10 +35,26 @@ public class UserService {
     @Inject
     PersonRepository personRepository;
 
+    @Inject
+    Event<TableChangedEvent> tableChanged;
+
+    @Inject
+    PasswordHasher passwordHasher;
+
+    private volatile String unknownUserHash;
+
     public List<User> listAll() {
         return userRepository.listAll();
     }
 
+    public List<UserView> listViews() {
+        return userRepository.listViews();
+    }
+
+    public UserView findViewById(Long id) {
+        return userRepository.findViewById(id);
+    }
+
     public User findById(Long id) {
         return userRepository.findById(id);
     }
@@ -50,7 +68,12 @@ public class UserService {
         return userRepository.findByUsername(username);
     }
 
+    // Its own short transaction, so the connection is back in the pool before the caller runs bcrypt
     @Transactional
+    public User findForLogin(String username) {
+        return userRepository.findForLogin(username);
+    }
+
     public User createUser(User user, String password, Long personId, List<String> roleNames) {
         log.debugf("Creating user with username: %s", user.username);
 
@@ -58,13 +81,19 @@ public class UserService {
             throw new ValidationException("id", "ID must not be included in POST request");
         }
 
+        // Hashed before the transaction starts, so bcrypt never holds a pooled connection
+        return insertUser(user, passwordHasher.hash(password), personId, roleNames);
+    }
+
+    // Called on this bean, which ArC still intercepts, so the transaction covers only the SQL
+    @Transactional
+    User insertUser(User user, String passwordHash, Long personId, List<String> roleNames) {
         // Validate username uniqueness
         if (userRepository.existsByUsername(user.username)) {
             throw new DuplicateEntityException("User", "username", user.username);
         }
 
-        // Hash the password
-        user.passwordHash = BcryptUtil.bcryptHash(password);
+        user.passwordHash = passwordHash;
 
         // Link to Person if provided
         if (personId != null) {
@@ -93,13 +122,20 @@ public class UserService {
         }
 
         userRepository.persist(user);
+        tableChanged.fire(new TableChangedEvent(TableChangedEvent.Table.USER, user.id));
         return user;
     }
 
-    @Transactional
     public User updateUser(Long id, User updates, String newPassword) {
         log.debugf("Updating user id: %s", id);
 
+        // Hashed before the transaction starts, as in createUser
+        String passwordHash = newPassword != null && !newPassword.isEmpty() ? passwordHasher.hash(newPassword) : null;
+        return applyUpdate(id, updates, passwordHash);
+    }
+
+    @Transactional
+    User applyUpdate(Long id, User updates, String passwordHash) {
         User existing = userRepository.findById(id);
         if (existing == null) {
             throw new EntityNotFoundException("User", id);
@@ -115,8 +151,8 @@ public class UserService {
         }
 
         // Update password if provided
-        if (newPassword != null && !newPassword.isEmpty()) {
-            existing.passwordHash = BcryptUtil.bcryptHash(newPassword);
+        if (passwordHash != null) {
+            existing.passwordHash = passwordHash;
         }
 
         // Update person if provided
@@ -126,6 +162,7 @@ public class UserService {
 
         existing.updatedAt = LocalDateTime.now();
         userRepository.persist(existing);
+        tableChanged.fire(new TableChangedEvent(TableChangedEvent.Table.USER, id));
         return existing;
     }
 
@@ -138,17 +175,7 @@ public class UserService {
             throw new EntityNotFoundException("User", id);
         }
         userRepository.delete(user);
-    }
-
-    @Transactional
-    public User updateLastLogin(Long id) {
-        User user = userRepository.findById(id);
-        if (user == null) {
-            throw new EntityNotFoundException("User", id);
-        }
-        user.lastLogin = LocalDateTime.now();
-        userRepository.persist(user);
-        return user;
+        tableChanged.fire(new TableChangedEvent(TableChangedEvent.Table.USER, id));
     }
 
     @Transactional
@@ -165,6 +192,7 @@ public class UserService {
 
         user.addRole(role);
         userRepository.persist(user);
+        tableChanged.fire(new TableChangedEvent(TableChangedEvent.Table.USER, userId));
         return user;
     }
 
@@ -182,14 +210,29 @@ public class UserService {
 
         user.removeRole(role);
         userRepository.persist(user);
+        tableChanged.fire(new TableChangedEvent(TableChangedEvent.Table.USER, userId));
         return user;
     }
 
     public boolean verifyPassword(String username, String password) {
-        User user = userRepository.findByUsername(username);
+        return verifyPassword(userRepository.findByUsername(username), password);
+    }
+
+    public boolean verifyPassword(User user, String password) {
         if (user == null) {
+            // Same bcrypt cost as a real check, so response time does not reveal which usernames exist
+            passwordHasher.matches(password, unknownUserHash());
             return false;
         }
-        return BcryptUtil.matches(password, user.passwordHash);
+        return passwordHasher.matches(password, user.passwordHash);
+    }
+
+    private String unknownUserHash() {
+        String hash = unknownUserHash;
+        if (hash == null) {
+            hash = passwordHasher.hash(UUID.randomUUID().toString());
+            unknownUserHash = hash;
+        }
+        return hash;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.domain.User;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The parts of a user that go into an access token, detached from the entity so tokens can be
+ * re-signed without a database round trip. {@code securityVersion} is the value of
+ * {@link UserSnapshotCache#securityVersion(Long)} when the snapshot was loaded.
+ */
+public record UserSnapshot(long userId, String username, Set<String> roles, Long personId, String displayName,
+                           long securityVersion) {
+
+    static UserSnapshot of(User user, long securityVersion) {
+        return new UserSnapshot(user.id, user.username,
+                user.roles.stream().map(role -> role.name).collect(Collectors.toUnmodifiableSet()),
+                user.person != null ? user.person.id : null,
+                user.person != null ? user.person.getFullName() : user.username,
+                securityVersion);
+    }
+}
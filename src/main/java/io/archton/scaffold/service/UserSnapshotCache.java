@@ -0,0 +1,110 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.domain.User;
+import io.archton.scaffold.dto.CacheStats;
+import io.archton.scaffold.repository.UserRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-user {@link UserSnapshot}s for token refresh. Each user has a security version that is bumped
+ * after any committed change to the user, its roles or its person (and for everyone after role or
+ * bulk changes); a snapshot is served only while its version is still current, otherwise it is
+ * reloaded with one query.
+ */
+@ApplicationScoped
+public class UserSnapshotCache {
+
+    @Inject
+    UserRepository userRepository;
+
+    private final Map<Long, UserSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> userVersions = new ConcurrentHashMap<>();
+    // Added to every user's version, so one increment invalidates them all; both parts only grow
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public long securityVersion(Long userId) {
+        AtomicLong userVersion = userVersions.get(userId);
+        return globalVersion.get() + (userVersion != null ? userVersion.get() : 0);
+    }
+
+    /**
+     * Returns the current snapshot of a user, or null if the user no longer exists.
+     */
+    public UserSnapshot get(Long userId) {
+        // Read before loading: a change committed during the load leaves a stale version, never a stale snapshot
+        long version = securityVersion(userId);
+        UserSnapshot snapshot = snapshots.get(userId);
+        if (snapshot != null && snapshot.securityVersion() == version) {
+            hits.increment();
+            return snapshot;
+        }
+        misses.increment();
+        UserSnapshot loaded = QuarkusTransaction.requiringNew().call(() -> {
+            User user = userRepository.findWithPersonAndRoles(userId);
+            return user != null ? UserSnapshot.of(user, version) : null;
+        });
+        if (loaded == null) {
+            snapshots.remove(userId);
+            return null;
+        }
+        snapshots.put(userId, loaded);
+        return loaded;
+    }
+
+    public void bump(Long userId) {
+        userVersions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+        snapshots.remove(userId);
+        invalidations.increment();
+    }
+
+    public void bumpAll() {
+        globalVersion.incrementAndGet();
+        snapshots.clear();
+        invalidations.increment();
+    }
+
+    // The display name in a token comes from the linked person
+    public void bumpPerson(Long personId) {
+        snapshots.values().stream()
+                .filter(snapshot -> personId.equals(snapshot.personId()))
+                .forEach(snapshot -> bump(snapshot.userId()));
+    }
+
+    public CacheStats stats() {
+        return new CacheStats("user-snapshot", hits.sum(), misses.sum(), invalidations.sum(), snapshots.size());
+    }
+
+    void onTableChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) TableChangedEvent event) {
+        switch (event.table()) {
+            case USER -> {
+                if (event.id() != null) {
+                    bump(event.id());
+                } else {
+                    bumpAll();
+                }
+            }
+            case ROLE -> bumpAll();
+            case PERSON -> bumpAll();
+            default -> {
+            }
+        }
+    }
+
+    void onPersonChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) PersonChangedEvent event) {
+        if (event.kind() != PersonChangedEvent.Kind.CREATED) {
+            bumpPerson(event.id());
+        }
+    }
+}
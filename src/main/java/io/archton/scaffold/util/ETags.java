@@ -0,0 +1,31 @@
+package io.archton.scaffold.util;
+
+import io.archton.scaffold.service.DataVersions;
+import io.archton.scaffold.service.TableChangedEvent.Table;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.UriInfo;
+
+import java.net.URI;
+
+/**
+ * Builds strong entity tags for conditional GETs from {@link DataVersions}.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Creates the tag for the current request; the path and raw query string identify the representation,
+     * so differently paged or filtered responses never share a tag.
+     *
+     * @param dataVersions the per-table change counters
+     * @param uriInfo the current request URI
+     * @param tables every table the response is read from
+     * @return a strong entity tag
+     */
+    public static EntityTag of(DataVersions dataVersions, UriInfo uriInfo, Table... tables) {
+        URI uri = uriInfo.getRequestUri();
+        return new EntityTag(dataVersions.tag(uri.getRawPath() + "?" + uri.getRawQuery(), tables));
+    }
+}
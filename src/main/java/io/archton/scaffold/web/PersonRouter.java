@@ -4,15 +4,23 @@ import io.archton.scaffold.domain.Person;
 import io.archton.scaffold.domain.Gender;
 import io.archton.scaffold.domain.Title;
 import io.archton.scaffold.exception.EntityNotFoundException;
+import io.archton.scaffold.repository.KeysetPage;
+import io.archton.scaffold.service.DataVersions;
 import io.archton.scaffold.service.PersonService;
 import io.archton.scaffold.service.GenderService;
+import io.archton.scaffold.service.TableChangedEvent.Table;
 import io.archton.scaffold.service.TitleService;
+import io.archton.scaffold.util.ETags;
 import io.quarkus.qute.CheckedTemplate;
 import io.quarkus.qute.TemplateInstance;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
 import org.jboss.logging.Logger;
 
 import java.util.List;
@@ -32,31 +40,56 @@ public class PersonRouter extends BaseEntityRouter<Person> {
     @Inject
     TitleService titleService;
 
+    @Inject
+    DataVersions dataVersions;
+
 
 
     @CheckedTemplate(basePath = "person")
     public static class Templates {
-        public static native TemplateInstance person(List<Person> persons, Person person, String errorMessage, List<Title> titles, List<Gender> genders);
+        public static native TemplateInstance person(List<Person> persons, String nextCursor, Person person, String errorMessage, List<Title> titles, List<Gender> genders);
     }
 
     @GET
     @Produces(MediaType.TEXT_HTML)
     public String get() {
         log.debug("GET /persons-ui");
-        List<Person> personList = personService.listSorted();
+        KeysetPage<Person> page = personService.listPage(null, null);
         List<Title> titleList = titleService.listSorted();
         List<Gender> genderList = genderService.listSorted();
-        return Templates.person(personList, null, null, titleList, genderList).render();
+        return Templates.person(page.items(), page.nextCursor(), null, null, titleList, genderList).render();
     }
 
     @GET
     @Path("/table")
     @Produces(MediaType.TEXT_HTML)
-    public Response getPersonTable() {
+    public Response getPersonTable(@Context Request request, @Context UriInfo uriInfo) {
         log.debug("GET /persons-ui/table");
-        List<Person> personList = personService.listSorted();
-        String html = Templates.person(personList, null, null, null, null).getFragment("table").data("persons", personList).render();
-        return Response.ok(html).build();
+        EntityTag etag = ETags.of(dataVersions, uriInfo, Table.PERSON, Table.GENDER, Table.TITLE);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(renderTable()).tag(etag).build();
+    }
+
+    @GET
+    @Path("/table/page")
+    @Produces(MediaType.TEXT_HTML)
+    public Response getPersonTablePage(@QueryParam("cursor") String cursor, @Context Request request, @Context UriInfo uriInfo) {
+        log.debugf("GET /persons-ui/table/page - cursor: %s", cursor);
+        EntityTag etag = ETags.of(dataVersions, uriInfo, Table.PERSON, Table.GENDER, Table.TITLE);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        KeysetPage<Person> page = personService.listPage(cursor, null);
+        String html = Templates.person(page.items(), page.nextCursor(), null, null, null, null)
+            .getFragment("rows")
+            .data("persons", page.items())
+            .data("nextCursor", page.nextCursor())
+            .render();
+        return Response.ok(html).tag(etag).build();
     }
 
     @GET
@@ -70,7 +103,7 @@ public class PersonRouter extends BaseEntityRouter<Person> {
             throw new EntityNotFoundException("Person", id);
         }
 
-        String html = Templates.person(null, personOpt.get(), null, null, null).getFragment("view").data("person", personOpt.get()).render();
+        String html = Templates.person(null, null, personOpt.get(), null, null, null).getFragment("view").data("person", personOpt.get()).render();
         return Response.ok(html).build();
     }
 
@@ -82,7 +115,7 @@ public class PersonRouter extends BaseEntityRouter<Person> {
 
         List<Title> titleList = titleService.listSorted();
         List<Gender> genderList = genderService.listSorted();
-        String html = Templates.person(null, null, null, titleList, genderList).getFragment("create").data("person", new Person()).data("errorMessage", null).data("titles", titleList).data("genders", genderList).render();
+        String html = Templates.person(null, null, null, null, titleList, genderList).getFragment("create").data("person", new Person()).data("errorMessage", null).data("titles", titleList).data("genders", genderList).render();
         return Response.ok(html).build();
     }
 
@@ -114,9 +147,7 @@ public class PersonRouter extends BaseEntityRouter<Person> {
             log.debugf("Person created successfully with ID: %s", createdPerson.id);
 
             // Success - return to table view
-            List<Person> personList = personService.listSorted();
-            String html = Templates.person(personList, null, null, null, null).getFragment("table").data("persons", personList).render();
-            return Response.ok(html).build();
+            return Response.ok(renderTable()).build();
         } catch (Exception e) {
             // Error - re-render form with preserved data and error message
             // Store the form parameters in a temporary person for form data preservation
@@ -152,7 +183,7 @@ public class PersonRouter extends BaseEntityRouter<Person> {
 
         List<Title> titleList = titleService.listSorted();
         List<Gender> genderList = genderService.listSorted();
-        String html = Templates.person(null, personOpt.get(), null, titleList, genderList).getFragment("edit").data("person", personOpt.get()).data("errorMessage", null).data("titles", titleList).data("genders", genderList).render();
+        String html = Templates.person(null, null, personOpt.get(), null, titleList, genderList).getFragment("edit").data("person", personOpt.get()).data("errorMessage", null).data("titles", titleList).data("genders", genderList).render();
         return Response.ok(html).build();
     }
 
@@ -187,9 +218,7 @@ public class PersonRouter extends BaseEntityRouter<Person> {
             log.debugf("Person updated successfully with ID: %s", updatedPerson.id);
 
             // Success - return to table view
-            List<Person> personList = personService.listSorted();
-            String html = Templates.person(personList, null, null, null, null).getFragment("table").data("persons", personList).render();
-            return Response.ok(html).build();
+            return Response.ok(renderTable()).build();
         } catch (Exception e) {
             // Error - re-render form with preserved data and error message
             // For error display, store the IDs for dropdown selection
@@ -218,7 +247,7 @@ public class PersonRouter extends BaseEntityRouter<Person> {
             throw new EntityNotFoundException("Person", id);
         }
 
-        String html = Templates.person(null, personOpt.get(), null, null, null).getFragment("delete").data("person", personOpt.get()).render();
+        String html = Templates.person(null, null, personOpt.get(), null, null, null).getFragment("delete").data("person", personOpt.get()).render();
         return Response.ok(html).build();
     }
 
@@ -234,20 +263,22 @@ public class PersonRouter extends BaseEntityRouter<Person> {
             log.debugf("Person soft deleted successfully with ID: %s", id);
 
             // Success - return to table view
-            List<Person> personList = personService.listSorted();
-            String html = Templates.person(personList, null, null, null, null).getFragment("table").data("persons", personList).render();
-            return Response.ok(html).build();
+            return Response.ok(renderTable()).build();
         } catch (Exception e) {
             return handleEntityDeleteException(e, "deleting person " + id);
         }
     }
 
+    private String renderTable() {
+        return renderTableWithError(null);
+    }
+
     @Override
     protected String renderFragment(String fragmentName, Person entity, String errorMessage) {
-        List<Person> personList = personService.listSorted();
+        // Form fragments never show the table, so skip loading any person rows
         List<Title> titleList = titleService.listSorted();
         List<Gender> genderList = genderService.listSorted();
-        return Templates.person(personList, entity, errorMessage, titleList, genderList)
+        return Templates.person(null, null, entity, errorMessage, titleList, genderList)
             .getFragment(fragmentName)
             .data("person", entity)
             .data("errorMessage", errorMessage)
@@ -258,10 +289,11 @@ public class PersonRouter extends BaseEntityRouter<Person> {
 
     @Override
     protected String renderTableWithError(String errorMessage) {
-        List<Person> personList = personService.listSorted();
-        return Templates.person(personList, null, errorMessage, null, null)
+        KeysetPage<Person> page = personService.listPage(null, null);
+        return Templates.person(page.items(), page.nextCursor(), null, errorMessage, null, null)
             .getFragment("table")
-            .data("persons", personList)
+            .data("persons", page.items())
+            .data("nextCursor", page.nextCursor())
             .data("errorMessage", errorMessage)
             .render();
     }
@@ -0,0 +1,12 @@
+-- Full-text search over person names and email.
+-- 'simple' configuration: names must not be stemmed or dropped as stop words.
+alter table person add column search_vector tsvector
+    generated always as (
+        setweight(to_tsvector('simple', coalesce(last_name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(first_name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(email, '')), 'B')
+    ) stored;
+
+create index idx_person_search_vector on person using gin(search_vector);
+
+comment on column person.search_vector is 'Generated full-text search vector over first name, last name and email';
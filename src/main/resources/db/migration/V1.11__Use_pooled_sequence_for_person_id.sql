@@ -0,0 +1,14 @@
+-- Identity columns force Hibernate to insert one row at a time to learn each id,
+-- which disables JDBC batching. Switch person.id to a sequence that Hibernate's
+-- pooled optimizer can allocate from in blocks of 50 (must match allocationSize on Person).
+alter table person alter column id drop identity;
+
+create sequence person_seq increment by 50 owned by person.id;
+
+-- Start one full block past the highest existing id so the first pooled block cannot overlap it
+select setval('person_seq', (select coalesce(max(id), 0) from person) + 50, false);
+
+-- Plain SQL inserts (seed scripts, manual fixes) keep working without an explicit id
+alter table person alter column id set default nextval('person_seq');
+
+comment on sequence person_seq is 'Pooled id allocator for person (increment matches Hibernate allocationSize)';
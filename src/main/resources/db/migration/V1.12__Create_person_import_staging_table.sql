@@ -0,0 +1,15 @@
+-- Landing area for CSV imports loaded with COPY FROM STDIN. Unlogged because the rows are
+-- transient: they are truncated in the same transaction that merges them into person.
+create unlogged table person_import_staging (
+    line_no bigint generated always as identity,
+    first_name text,
+    last_name text,
+    email text,
+    gender_code text,
+    title_code text
+);
+
+comment on table person_import_staging is 'Transient staging rows for bulk person CSV imports';
+comment on column person_import_staging.line_no is 'Data row number within the uploaded file (header excluded)';
+comment on column person_import_staging.gender_code is 'Gender code as supplied, resolved to gender.id during the merge';
+comment on column person_import_staging.title_code is 'Title code as supplied, resolved to title.id during the merge';
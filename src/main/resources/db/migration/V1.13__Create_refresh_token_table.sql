@@ -0,0 +1,28 @@
+-- Opaque refresh tokens, stored only as SHA-256 hashes. Each login starts a family; every refresh
+-- marks the presented token rotated and issues the next one in the same family, so a rotated token
+-- presented again reveals a copy and revokes the whole family.
+create table refresh_token (
+    id bigint generated always as identity primary key,
+    token_hash varchar(64) not null,
+    user_id bigint not null,
+    family_id uuid not null,
+    expires_at timestamp not null,
+    created_at timestamp not null default now(),
+    rotated_at timestamp,
+    revoked_at timestamp,
+    constraint uk_refresh_token_hash unique (token_hash),
+    constraint fk_refresh_token_user_login foreign key (user_id) references user_login(id) on delete cascade
+);
+
+create index idx_refresh_token_family on refresh_token (family_id);
+create index idx_refresh_token_user on refresh_token (user_id);
+create index idx_refresh_token_expires on refresh_token (expires_at);
+
+comment on table refresh_token is 'Hashed refresh tokens with rotation and reuse detection';
+comment on column refresh_token.token_hash is 'Hex SHA-256 of the opaque token; the token itself is never stored';
+comment on column refresh_token.user_id is 'Foreign key to user_login table';
+comment on column refresh_token.family_id is 'Shared by all tokens descending from one login';
+comment on column refresh_token.expires_at is 'Token is refused after this time';
+comment on column refresh_token.created_at is 'Record creation timestamp';
+comment on column refresh_token.rotated_at is 'When the token was exchanged for its successor';
+comment on column refresh_token.revoked_at is 'When the token was revoked (logout or detected reuse)';
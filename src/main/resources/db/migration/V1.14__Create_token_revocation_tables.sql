@@ -0,0 +1,28 @@
+-- Access token revocations, loaded into memory at startup so request authentication never reads
+-- them from the database. Times are UTC, matching the epoch-second iat/exp claims they are compared with.
+create table revoked_token (
+    jti varchar(64) primary key,
+    user_id bigint not null,
+    expires_at timestamp not null,
+    revoked_at timestamp not null default now(),
+    constraint fk_revoked_token_user_login foreign key (user_id) references user_login(id) on delete cascade
+);
+
+create index idx_revoked_token_user on revoked_token (user_id);
+create index idx_revoked_token_expires on revoked_token (expires_at);
+
+comment on table revoked_token is 'Individually revoked access tokens (logout), kept until they expire';
+comment on column revoked_token.jti is 'JWT ID claim of the revoked token';
+comment on column revoked_token.user_id is 'Foreign key to user_login table';
+comment on column revoked_token.expires_at is 'Expiry (UTC) of the revoked token, after which the row can be purged';
+comment on column revoked_token.revoked_at is 'When the token was revoked';
+
+create table user_token_cutoff (
+    user_id bigint primary key,
+    not_before timestamp not null,
+    constraint fk_user_token_cutoff_user_login foreign key (user_id) references user_login(id) on delete cascade
+);
+
+comment on table user_token_cutoff is 'Per-user kill switch: access tokens issued at or before not_before are rejected';
+comment on column user_token_cutoff.user_id is 'Foreign key to user_login table';
+comment on column user_token_cutoff.not_before is 'Cutoff (UTC) for the iat claim of this user''s tokens';
@@ -0,0 +1,6 @@
+-- A nextval default takes a whole 50-id block per plain SQL insert, since each person_seq value owns
+-- ids v-49..v under Hibernate's pooled optimizer. Every insert now supplies its id from a block it
+-- allocated itself (Hibernate, PersonIdAllocator, the CSV import merge, seed scripts).
+alter table person alter column id drop default;
+
+comment on column person.id is 'Primary key, allocated in blocks of 50 from person_seq (value v owns ids v-49..v)';
@@ -0,0 +1,18 @@
+-- The 'simple' parser keeps a whole email address as one token, so searching for the local part or the
+-- domain found nothing. Index the address, its local part and domain, and each of their dot/dash/
+-- underscore/plus-separated pieces as well. A generated column's expression cannot be altered, so the
+-- column (and its index) is recreated.
+alter table person drop column search_vector;
+
+alter table person add column search_vector tsvector
+    generated always as (
+        setweight(to_tsvector('simple', coalesce(last_name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(first_name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(email, '') || ' ' ||
+                                        replace(coalesce(email, ''), '@', ' ') || ' ' ||
+                                        translate(coalesce(email, ''), '@.-_+', '     ')), 'B')
+    ) stored;
+
+create index idx_person_search_vector on person using gin(search_vector);
+
+comment on column person.search_vector is 'Generated full-text search vector over first name, last name and email (whole, local part, domain and their pieces)';
@@ -0,0 +1,5 @@
+-- Matches the keyset order used by paginated person listings:
+-- order by last_name, coalesce(first_name, ''), id
+create index idx_person_keyset on person(last_name, coalesce(first_name, ''), id);
+
+comment on index idx_person_keyset is 'Keyset pagination index for person listings ordered by name';
@@ -1,8 +1,14 @@
-INSERT INTO person (first_name, last_name, email, gender_id, title_id) VALUES
-    ('Thabo', 'Pityana', 'thabo.pityana@example.co.za', (SELECT id FROM gender WHERE code = 'M'), (SELECT id FROM title WHERE code = 'MR')),
-    ('Nkosazana', 'Olifant', 'nkosazana.olifant@example.co.za', (SELECT id FROM gender WHERE code = 'F'), (SELECT id FROM title WHERE code = 'DR')),
-    ('Sipho', 'Nkuna', 'sipho.nkuna@example.co.za', (SELECT id FROM gender WHERE code = 'M'), (SELECT id FROM title WHERE code = 'MR')),
-    ('Lerato', 'Mokoena', 'lerato.mokoena@example.co.za', (SELECT id FROM gender WHERE code = 'F'), (SELECT id FROM title WHERE code = 'MS')),
-    ('Mandla', 'Van der Merwe', 'mandla.vdm@example.co.za', (SELECT id FROM gender WHERE code = 'M'), (SELECT id FROM title WHERE code = 'PROF')),
-    ('Thandiwe', 'Ndlovu', 'thandiwe.ndlovu@example.co.za', (SELECT id FROM gender WHERE code = 'F'), (SELECT id FROM title WHERE code = 'MRS')),
-    ('Kagiso', 'Rabade', 'kagiso.rabade@example.co.za', (SELECT id FROM gender WHERE code = 'M'), (SELECT id FROM title WHERE code = 'MR'));
\ No newline at end of file
+-- person.id has no default: take one person_seq block (value v owns ids v-49..v) and number the rows within it
+INSERT INTO person (id, first_name, last_name, email, gender_id, title_id)
+SELECT block.first_id + v.n, v.first_name, v.last_name, v.email,
+       (SELECT id FROM gender WHERE code = v.gender_code), (SELECT id FROM title WHERE code = v.title_code)
+FROM (SELECT nextval('person_seq') - 49 AS first_id) block,
+     (VALUES
+        (0, 'Thabo', 'Pityana', 'thabo.pityana@example.co.za', 'M', 'MR'),
+        (1, 'Nkosazana', 'Olifant', 'nkosazana.olifant@example.co.za', 'F', 'DR'),
+        (2, 'Sipho', 'Nkuna', 'sipho.nkuna@example.co.za', 'M', 'MR'),
+        (3, 'Lerato', 'Mokoena', 'lerato.mokoena@example.co.za', 'F', 'MS'),
+        (4, 'Mandla', 'Van der Merwe', 'mandla.vdm@example.co.za', 'M', 'PROF'),
+        (5, 'Thandiwe', 'Ndlovu', 'thandiwe.ndlovu@example.co.za', 'F', 'MRS'),
+        (6, 'Kagiso', 'Rabade', 'kagiso.rabade@example.co.za', 'M', 'MR')
+     ) AS v(n, first_name, last_name, email, gender_code, title_code);
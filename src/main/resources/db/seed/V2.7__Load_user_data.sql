@@ -4,7 +4,7 @@ INSERT INTO user_login (username, password_hash, person_id, created_by, created_
 VALUES (
     'admin', 
     '$2a$10$Po09k7ClojpSxNFe/EhbquKoGQ69AU8H.yaPsRJb/D4FXUkB4jpx.',  -- bcrypt hash of 'adminpassword'
-    1,
+    (SELECT id FROM person WHERE email = 'thabo.pityana@example.co.za'),
     'system',
     NOW()
 );
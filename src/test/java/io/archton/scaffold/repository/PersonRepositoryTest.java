@@ -0,0 +1,115 @@
+package io.archton.scaffold.repository;
+
+import io.archton.scaffold.domain.Gender;
+import io.archton.scaffold.domain.Person;
+import io.archton.scaffold.domain.Title;
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@QuarkusTest
+@DisplayName("Person Repository Fetch Plan Tests")
+class PersonRepositoryTest {
+
+    @Inject
+    PersonRepository personRepository;
+
+    @Inject
+    GenderRepository genderRepository;
+
+    @Inject
+    TitleRepository titleRepository;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    private Gender gender;
+    private Title title;
+
+    @BeforeEach
+    void setUp() {
+        gender = new Gender("G", "Fetch plan gender");
+        title = new Title("FPT", "Fetch plan title");
+    }
+
+    private void persistPersons() {
+        genderRepository.persist(gender);
+        titleRepository.persist(title);
+        for (int i = 0; i < 3; i++) {
+            Person person = new Person("First" + i, "Fetchplan", "fetchplan" + i + "@example.com");
+            person.gender = gender;
+            person.title = title;
+            personRepository.persist(person);
+        }
+        // Start from an empty persistence context so associations must come from the query itself
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long countStatements(Supplier<List<Person>> query) {
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        List<Person> persons = query.get();
+        assertFalse(persons.isEmpty());
+        for (Person person : persons) {
+            if (person.gender != null) {
+                person.gender.description.length();
+            }
+            if (person.title != null) {
+                person.title.description.length();
+            }
+        }
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @TestTransaction
+    @DisplayName("listSorted - Should load persons with gender and title in one statement")
+    void testListSorted_SingleStatement() {
+        persistPersons();
+        assertEquals(1, countStatements(() -> personRepository.listSorted()));
+    }
+
+    @Test
+    @TestTransaction
+    @DisplayName("listAfter - Should load a page with gender and title in one statement")
+    void testListAfter_SingleStatement() {
+        persistPersons();
+        assertEquals(1, countStatements(() -> personRepository.listAfter(null, 10)));
+    }
+
+    @Test
+    @TestTransaction
+    @DisplayName("findByLastName - Should load persons with gender and title in one statement")
+    void testFindByLastName_SingleStatement() {
+        persistPersons();
+        assertEquals(1, countStatements(() -> personRepository.findByLastName("Fetchplan")));
+    }
+
+    @Test
+    @TestTransaction
+    @DisplayName("findByGender and findByTitle - Should load persons with associations in one statement")
+    void testFindByGenderAndTitle_SingleStatement() {
+        persistPersons();
+        Gender managedGender = entityManager.getReference(Gender.class, gender.id);
+        Title managedTitle = entityManager.getReference(Title.class, title.id);
+        assertEquals(1, countStatements(() -> personRepository.findByGender(managedGender)));
+        assertEquals(1, countStatements(() -> personRepository.findByTitle(managedTitle)));
+    }
+}
@@ -0,0 +1,62 @@
+package io.archton.scaffold.repository;
+
+import io.archton.scaffold.domain.Role;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@QuarkusTest
+@DisplayName("Role Repository Second-Level Cache Tests")
+class RoleRepositoryTest {
+
+    private static final String ROLE_NAME = "CACHE_TEST_ROLE";
+
+    @Inject
+    RoleRepository roleRepository;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    // The query and entity caches only see committed data, so each step runs in its own transaction
+    @BeforeEach
+    void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> roleRepository.persist(new Role(ROLE_NAME, "Second-level cache test role")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        QuarkusTransaction.requiringNew().run(() -> roleRepository.delete("name", ROLE_NAME));
+    }
+
+    @Test
+    @DisplayName("findByName - Should be served from the query and entity caches without SQL")
+    void testFindByName_Cached() {
+        QuarkusTransaction.requiringNew().run(() -> roleRepository.findByName(ROLE_NAME));
+
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        Role role = QuarkusTransaction.requiringNew().call(() -> roleRepository.findByName(ROLE_NAME));
+
+        assertEquals(ROLE_NAME, role.name);
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("findByName - Should not return a role after it is deleted")
+    void testFindByName_EvictedOnDelete() {
+        QuarkusTransaction.requiringNew().run(() -> roleRepository.findByName(ROLE_NAME));
+        QuarkusTransaction.requiringNew().run(() -> roleRepository.delete("name", ROLE_NAME));
+
+        assertNull(QuarkusTransaction.requiringNew().call(() -> roleRepository.findByName(ROLE_NAME)));
+    }
+}
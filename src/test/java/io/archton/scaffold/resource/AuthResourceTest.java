@@ -0,0 +1,189 @@
+package io.archton.scaffold.resource;
+
+import io.archton.scaffold.support.TestUsers;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import io.restassured.specification.RequestSpecification;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+@DisplayName("Auth Resource REST API Tests")
+class AuthResourceTest {
+
+    private static final String USERNAME = "auth_resource_test";
+    private static final String ADMIN = "auth_resource_admin";
+
+    @Inject
+    TestUsers testUsers;
+
+    @ConfigProperty(name = "auth.login.rate-limit.username.capacity")
+    int usernameCapacity;
+
+    private RequestSpecification requestSpec;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        requestSpec = new RequestSpecBuilder().setBasePath("/api/auth").setContentType(ContentType.JSON).setAccept(ContentType.JSON).build();
+        userId = testUsers.createWithRoles(USERNAME, "ROLE_USER");
+        testUsers.createWithRoles(ADMIN, "ROLE_ADMIN");
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.delete(USERNAME, ADMIN);
+    }
+
+    private void assertTokenAccepted(String accessToken) {
+        given()
+                .spec(requestSpec)
+                .header("Authorization", "Bearer " + accessToken)
+                .when()
+                .post("/refresh")
+                .then()
+                .statusCode(200);
+    }
+
+    private void assertTokenRejected(String accessToken) {
+        given()
+                .spec(requestSpec)
+                .header("Authorization", "Bearer " + accessToken)
+                .when()
+                .post("/refresh")
+                .then()
+                .statusCode(401);
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/login - Should return access and refresh tokens")
+    void testLogin() {
+        given()
+                .spec(requestSpec)
+                .body(Map.of("username", USERNAME, "password", TestUsers.PASSWORD))
+                .when()
+                .post("/login")
+                .then()
+                .statusCode(200)
+                .body("accessToken", notNullValue())
+                .body("refreshToken", notNullValue())
+                .body("tokenType", equalTo("Bearer"));
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/login - Should answer 429 with Retry-After once a username's attempts are spent")
+    void testLogin_RateLimited() {
+        Map<String, String> attempt = Map.of("username", "rate_limited_test", "password", "wrong");
+        for (int i = 0; i < usernameCapacity; i++) {
+            given().spec(requestSpec).body(attempt).when().post("/login").then().statusCode(401);
+        }
+
+        given()
+                .spec(requestSpec)
+                .body(attempt)
+                .when()
+                .post("/login")
+                .then()
+                .statusCode(429)
+                .header("Retry-After", notNullValue())
+                .body("error", containsString("Too many login attempts"));
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/refresh-token - Should rotate a refresh token once and revoke its family on reuse")
+    void testRefreshToken_RotationAndReuse() {
+        String first = TestUsers.login(USERNAME).getString("refreshToken");
+
+        JsonPath rotated = given()
+                .spec(requestSpec)
+                .body(Map.of("refreshToken", first))
+                .when()
+                .post("/refresh-token")
+                .then()
+                .statusCode(200)
+                .body("accessToken", notNullValue())
+                .body("refreshToken", not(equalTo(first)))
+                .extract()
+                .jsonPath();
+        String second = rotated.getString("refreshToken");
+
+        given().spec(requestSpec).body(Map.of("refreshToken", first)).when().post("/refresh-token").then().statusCode(401);
+
+        // Reusing the first token revoked its successor as well
+        given().spec(requestSpec).body(Map.of("refreshToken", second)).when().post("/refresh-token").then().statusCode(401);
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/logout - Should reject the access and refresh tokens afterwards")
+    void testLogout() {
+        JsonPath login = TestUsers.login(USERNAME);
+        String accessToken = login.getString("accessToken");
+        String refreshToken = login.getString("refreshToken");
+        assertTokenAccepted(accessToken);
+
+        given()
+                .spec(requestSpec)
+                .header("Authorization", "Bearer " + accessToken)
+                .body(Map.of("refreshToken", refreshToken))
+                .when()
+                .post("/logout")
+                .then()
+                .statusCode(204);
+
+        assertTokenRejected(accessToken);
+        given().spec(requestSpec).body(Map.of("refreshToken", refreshToken)).when().post("/refresh-token").then().statusCode(401);
+        assertTokenAccepted(TestUsers.accessToken(USERNAME));
+    }
+
+    @Test
+    @DisplayName("POST /api/users/{id}/revoke-tokens - Should reject every token the user holds")
+    void testRevokeTokens() {
+        JsonPath login = TestUsers.login(USERNAME);
+        String accessToken = login.getString("accessToken");
+
+        given()
+                .header("Authorization", "Bearer " + TestUsers.accessToken(ADMIN))
+                .when()
+                .post("/api/users/{id}/revoke-tokens", userId)
+                .then()
+                .statusCode(204);
+
+        assertTokenRejected(accessToken);
+        given().spec(requestSpec).body(Map.of("refreshToken", login.getString("refreshToken"))).when().post("/refresh-token").then().statusCode(401);
+        // The cutoff has millisecond precision, so logging in again right away works
+        assertTokenAccepted(TestUsers.accessToken(USERNAME));
+    }
+
+    @Test
+    @DisplayName("POST /api/users/{id}/revoke-tokens - Should return 404 for an unknown user")
+    void testRevokeTokens_UnknownUser() {
+        given()
+                .header("Authorization", "Bearer " + TestUsers.accessToken(ADMIN))
+                .when()
+                .post("/api/users/{id}/revoke-tokens", 99999L)
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("POST /api/users/{id}/revoke-tokens - Should require ROLE_ADMIN")
+    void testRevokeTokens_Forbidden() {
+        given()
+                .header("Authorization", "Bearer " + TestUsers.accessToken(USERNAME))
+                .when()
+                .post("/api/users/{id}/revoke-tokens", userId)
+                .then()
+                .statusCode(403);
+    }
+}
@@ -129,6 +129,19 @@ class GenderResourceTest {
         given().spec(requestSpec).when().get().then().spec(responseSpec).statusCode(200).body("$", hasSize(greaterThanOrEqualTo(3))).body("code", hasItems("J", "K", "L")).body("description", hasItems("List Test Alpha", "List Test Beta", "List Test Charlie"));
     }
 
+    @Test
+    @TestTransaction
+    @DisplayName("GET /api/genders - Should answer 304 for a current ETag and 200 after a change")
+    void testGetAllGenders_ConditionalGet() {
+        String etag = given().spec(requestSpec).when().get().then().statusCode(200).header("ETag", notNullValue()).extract().header("ETag");
+
+        given().spec(requestSpec).header("If-None-Match", etag).when().get().then().statusCode(304);
+
+        given().spec(requestSpec).body(createValidGender("E", "ETag Test")).when().post().then().statusCode(201);
+
+        given().spec(requestSpec).header("If-None-Match", etag).when().get().then().statusCode(200).header("ETag", not(equalTo(etag))).body("code", hasItem("E"));
+    }
+
     // Data validation tests
 
     @Test
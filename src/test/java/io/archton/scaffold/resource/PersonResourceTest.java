@@ -11,6 +11,7 @@ import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
 import io.restassured.specification.RequestSpecification;
 import io.restassured.specification.ResponseSpecification;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,8 +21,15 @@ import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 @DisplayName("Person Resource REST API Tests")
@@ -335,6 +343,507 @@ class PersonResourceTest {
                 .body("$", hasSize(initialCount + 2));
     }
 
+    @Test
+    @TestTransaction
+    @DisplayName("GET /api/persons?limit= - Should walk all persons page by page via nextCursor")
+    void testGetAllPersons_KeysetPagination() {
+        List<Integer> createdIds = new ArrayList<>();
+        for (String firstName : new String[]{"Anna", "Beth", "Cara"}) {
+            Person person = createValidPerson(firstName, "Keyset", firstName.toLowerCase() + ".keyset@example.com");
+            createdIds.add(given()
+                    .spec(requestSpec)
+                    .body(person)
+                    .when()
+                    .post()
+                    .then()
+                    .statusCode(201)
+                    .extract()
+                    .path("id"));
+        }
+
+        List<Integer> seenIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            RequestSpecification pageRequest = given().spec(requestSpec).queryParam("limit", 2);
+            if (cursor != null) {
+                pageRequest.queryParam("cursor", cursor);
+            }
+            JsonPath page = pageRequest
+                    .when()
+                    .get()
+                    .then()
+                    .spec(responseSpec)
+                    .statusCode(200)
+                    .body("limit", equalTo(2))
+                    .body("items", hasSize(lessThanOrEqualTo(2)))
+                    .extract()
+                    .jsonPath();
+            seenIds.addAll(page.getList("items.id", Integer.class));
+            cursor = page.getString("nextCursor");
+        } while (cursor != null);
+
+        assertEquals(seenIds.size(), new HashSet<>(seenIds).size(), "Pages must not overlap");
+        assertTrue(seenIds.containsAll(createdIds), "Every person must appear on some page");
+    }
+
+    @Test
+    @DisplayName("GET /api/persons?cursor= - Should reject a malformed cursor")
+    void testGetAllPersons_InvalidCursor() {
+        given()
+                .spec(requestSpec)
+                .queryParam("cursor", "not-a-cursor")
+                .when()
+                .get()
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @TestTransaction
+    @DisplayName("GET /api/persons/stream - Should stream persons as NDJSON and as a JSON array")
+    void testStreamPersons() {
+        Person person = createValidPerson("Stream", "Reader", "stream.reader@example.com");
+        given()
+                .spec(requestSpec)
+                .body(person)
+                .when()
+                .post()
+                .then()
+                .statusCode(201);
+
+        String ndjson = given()
+                .basePath("/api/persons")
+                .accept("application/x-ndjson")
+                .when()
+                .get("/stream")
+                .then()
+                .statusCode(200)
+                .contentType(startsWith("application/x-ndjson"))
+                .extract()
+                .asString();
+        assertTrue(ndjson.lines().anyMatch(line -> line.contains("\"email\":\"stream.reader@example.com\"")));
+
+        given()
+                .spec(requestSpec)
+                .queryParam("format", "array")
+                .when()
+                .get("/stream")
+                .then()
+                .spec(responseSpec)
+                .statusCode(200)
+                .body("email", hasItem("stream.reader@example.com"));
+    }
+
+    @Test
+    @TestTransaction
+    @DisplayName("GET /api/persons/search - Should find persons by name with ranked results")
+    void testSearchPersons() {
+        Person person = createValidPerson("Quillon", "Marchbanks", "q.marchbanks@example.com");
+        given()
+                .spec(requestSpec)
+                .body(person)
+                .when()
+                .post()
+                .then()
+                .statusCode(201);
+
+        given()
+                .spec(requestSpec)
+                .queryParam("q", "marchbanks")
+                .when()
+                .get("/search")
+                .then()
+                .spec(responseSpec)
+                .statusCode(200)
+                .body("items", hasSize(1))
+                .body("items[0].lastName", equalTo("Marchbanks"))
+                .body("items[0].email", equalTo("q.marchbanks@example.com"))
+                .body("page", equalTo(0))
+                .body("hasMore", equalTo(false));
+    }
+
+    @Test
+    @TestTransaction
+    @DisplayName("GET /api/persons/search - Should find persons by the local part or domain of their email")
+    void testSearchPersons_ByEmailParts() {
+        Person person = createValidPerson("Ysolde", "Farthingale", "ysolde.farthingale@quorvex.example");
+        given()
+                .spec(requestSpec)
+                .body(person)
+                .when()
+                .post()
+                .then()
+                .statusCode(201);
+
+        for (String query : new String[]{"quorvex.example", "quorvex", "ysolde.farthingale"}) {
+            given()
+                    .spec(requestSpec)
+                    .queryParam("q", query)
+                    .when()
+                    .get("/search")
+                    .then()
+                    .spec(responseSpec)
+                    .statusCode(200)
+                    .body("items", hasSize(1))
+                    .body("items[0].email", equalTo("ysolde.farthingale@quorvex.example"));
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/persons/search - Should reject a blank query")
+    void testSearchPersons_BlankQuery() {
+        given()
+                .spec(requestSpec)
+                .queryParam("q", " ")
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @TestTransaction
+    @DisplayName("GET /api/persons/suggest - Should follow create, update and delete")
+    void testSuggestPersons_TracksWrites() {
+        Person person = createValidPerson("Ottoline", "Vexley", "ottoline.vexley@example.com");
+        Integer createdId = given()
+                .spec(requestSpec)
+                .body(person)
+                .when()
+                .post()
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        given()
+                .spec(requestSpec)
+                .queryParam("prefix", "VEXL")
+                .when()
+                .get("/suggest")
+                .then()
+                .spec(responseSpec)
+                .statusCode(200)
+                .body("id", hasItem(createdId))
+                .body("name", hasItem("Ottoline Vexley"));
+
+        person.lastName = "Wrexham";
+        given()
+                .spec(requestSpec)
+                .body(person)
+                .when()
+                .put("/{id}", createdId)
+                .then()
+                .statusCode(200);
+
+        given()
+                .spec(requestSpec)
+                .queryParam("prefix", "vexl")
+                .when()
+                .get("/suggest")
+                .then()
+                .statusCode(200)
+                .body("id", not(hasItem(createdId)));
+
+        given()
+                .spec(requestSpec)
+                .when()
+                .delete("/{id}", createdId)
+                .then()
+                .statusCode(204);
+
+        given()
+                .spec(requestSpec)
+                .queryParam("prefix", "ottoline")
+                .when()
+                .get("/suggest")
+                .then()
+                .statusCode(200)
+                .body("id", not(hasItem(createdId)));
+    }
+
+    @Test
+    @TestTransaction
+    @DisplayName("GET /api/persons?gender=&title= - Should filter and return facet counts")
+    void testGetAllPersons_FacetFilter() {
+        Integer genderId = given()
+                .spec(requestSpec)
+                .basePath("/api/genders")
+                .body(Map.of("code", "H", "description", "Facet test gender"))
+                .when()
+                .post()
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+        Integer titleId = given()
+                .spec(requestSpec)
+                .basePath("/api/titles")
+                .body(Map.of("code", "FACET", "description", "Facet test title"))
+                .when()
+                .post()
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        Integer personId = given()
+                .spec(requestSpec)
+                .body(Map.of(
+                        "firstName", "Faceta",
+                        "lastName", "Countwell",
+                        "email", "faceta.countwell@example.com",
+                        "gender", Map.of("id", genderId),
+                        "title", Map.of("id", titleId)))
+                .when()
+                .post()
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        given()
+                .spec(requestSpec)
+                .queryParam("gender", "H")
+                .queryParam("title", "FACET")
+                .when()
+                .get()
+                .then()
+                .spec(responseSpec)
+                .statusCode(200)
+                .body("total", equalTo(1))
+                .body("items[0].id", equalTo(personId))
+                .body("facets.gender.H", equalTo(1))
+                .body("facets.title.FACET", equalTo(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/persons?gender= - Should reject an unknown gender code")
+    void testGetAllPersons_FacetFilterUnknownCode() {
+        given()
+                .spec(requestSpec)
+                .queryParam("gender", "unknown")
+                .when()
+                .get()
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @TestTransaction
+    @DisplayName("POST /api/persons/batch - Should create valid items and reject the rest individually")
+    void testCreatePersons_Batch() {
+        given()
+                .spec(requestSpec)
+                .body(createValidPerson("Existing", "Batchwell", "existing.batchwell@example.com"))
+                .when()
+                .post()
+                .then()
+                .statusCode(201);
+
+        List<Map<String, Object>> batch = List.of(
+                Map.of("firstName", "Anna", "lastName", "Batchwell", "email", " Anna.Batchwell@Example.com "),
+                Map.of("firstName", "Bert", "lastName", "Batchwell", "email", "bert.batchwell@example.com"),
+                Map.of("firstName", "Anna", "lastName", "Again", "email", "anna.batchwell@example.com"),
+                Map.of("firstName", "Clash", "lastName", "Batchwell", "email", "existing.batchwell@example.com"),
+                Map.of("firstName", "NoLast", "email", "nolast.batchwell@example.com"));
+
+        given()
+                .spec(requestSpec)
+                .body(batch)
+                .when()
+                .post("/batch")
+                .then()
+                .spec(responseSpec)
+                .statusCode(200)
+                .body("created", equalTo(2))
+                .body("rejected", equalTo(3))
+                .body("items.status", contains("CREATED", "CREATED", "REJECTED", "REJECTED", "REJECTED"))
+                .body("items[0].email", equalTo("anna.batchwell@example.com"))
+                .body("items[0].id", notNullValue())
+                .body("items[2].error", containsString("item 0"));
+
+        given()
+                .spec(requestSpec)
+                .when()
+                .get("/email/bert.batchwell@example.com")
+                .then()
+                .statusCode(200)
+                .body("lastName", equalTo("Batchwell"));
+    }
+
+    @Test
+    @DisplayName("POST /api/persons/batch - Should reject an empty batch")
+    void testCreatePersons_EmptyBatch() {
+        given()
+                .spec(requestSpec)
+                .body(List.of())
+                .when()
+                .post("/batch")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @TestTransaction
+    @DisplayName("GET /api/persons/export.csv?gender= - Should stream filtered persons as CSV")
+    void testExportPersonsCsv_FilteredByGender() {
+        Integer genderId = given()
+                .spec(requestSpec)
+                .basePath("/api/genders")
+                .body(Map.of("code", "N", "description", "Export test gender"))
+                .when()
+                .post()
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+        given()
+                .spec(requestSpec)
+                .body(Map.of(
+                        "firstName", "Exa",
+                        "lastName", "Porter",
+                        "email", "exa.porter@example.com",
+                        "gender", Map.of("id", genderId)))
+                .when()
+                .post()
+                .then()
+                .statusCode(201);
+
+        String csv = given()
+                .queryParam("gender", "N")
+                .when()
+                .get("/api/persons/export.csv")
+                .then()
+                .statusCode(200)
+                .contentType(startsWith("text/csv"))
+                .extract()
+                .asString();
+
+        String[] lines = csv.strip().split("\n");
+        assertEquals("id,first_name,last_name,email,gender,title,created_at,updated_at", lines[0]);
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].contains(",Exa,Porter,exa.porter@example.com,N,,"));
+    }
+
+    @Test
+    @DisplayName("GET /api/persons/export.csv?title= - Should reject an unknown title code")
+    void testExportPersonsCsv_UnknownTitle() {
+        given()
+                .queryParam("title", "unknown")
+                .when()
+                .get("/api/persons/export.csv")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("POST /api/persons/import - Should merge valid CSV rows and report rejected lines")
+    void testImportPersons_Csv() {
+        String csv = """
+                first_name,last_name,email,gender,title
+                Ivy, Importer ,IVY.IMPORTER@example.com,,
+                Jon,Importer,jon.importer@example.com,NOPE,
+                ,,missing.importer@example.com,,
+                Ivy,Importer-Again,ivy.importer@example.com,,
+                """;
+
+        given()
+                .spec(requestSpec)
+                .contentType("text/csv")
+                .body(csv)
+                .when()
+                .post("/import")
+                .then()
+                .spec(responseSpec)
+                .statusCode(200)
+                .body("rows", equalTo(4))
+                .body("rejected", equalTo(2))
+                .body("rejections.line", contains(2, 3))
+                .body("rejections[0].error", containsString("NOPE"));
+
+        Integer id = given()
+                .spec(requestSpec)
+                .when()
+                .get("/email/ivy.importer@example.com")
+                .then()
+                .statusCode(200)
+                .body("firstName", equalTo("Ivy"))
+                .body("lastName", equalTo("Importer-Again"))
+                .extract()
+                .path("id");
+
+        given()
+                .spec(requestSpec)
+                .when()
+                .delete("/" + id)
+                .then()
+                .statusCode(204);
+    }
+
+    @Test
+    @DisplayName("POST /api/persons/import - Should reject malformed CSV")
+    void testImportPersons_MalformedCsv() {
+        given()
+                .spec(requestSpec)
+                .contentType("text/csv")
+                .body("first_name,last_name\nonly,two\n")
+                .when()
+                .post("/import")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @TestTransaction
+    @DisplayName("PUT /api/persons/by-email/{email} - Should create then replace the person")
+    void testUpsertPersonByEmail() {
+        Integer createdId = given()
+                .spec(requestSpec)
+                .body(Map.of("firstName", "Uma", "lastName", "Upsert"))
+                .when()
+                .put("/by-email/Uma.Upsert@example.com")
+                .then()
+                .spec(responseSpec)
+                .statusCode(201)
+                .body("email", equalTo("uma.upsert@example.com"))
+                .body("lastName", equalTo("Upsert"))
+                .extract()
+                .path("id");
+
+        given()
+                .spec(requestSpec)
+                .body(Map.of("firstName", "Uma", "lastName", "Upserted", "email", "uma.upsert@example.com"))
+                .when()
+                .put("/by-email/uma.upsert@example.com")
+                .then()
+                .spec(responseSpec)
+                .statusCode(200)
+                .body("id", equalTo(createdId))
+                .body("lastName", equalTo("Upserted"))
+                .body("updatedAt", notNullValue());
+    }
+
+    @Test
+    @DisplayName("PUT /api/persons/by-email/{email} - Should reject a mismatched body email and unknown gender")
+    void testUpsertPersonByEmail_Invalid() {
+        given()
+                .spec(requestSpec)
+                .body(Map.of("lastName", "Mismatch", "email", "other@example.com"))
+                .when()
+                .put("/by-email/mismatch.upsert@example.com")
+                .then()
+                .statusCode(400);
+
+        given()
+                .spec(requestSpec)
+                .body(Map.of("lastName", "Nogender", "gender", Map.of("id", 999999)))
+                .when()
+                .put("/by-email/nogender.upsert@example.com")
+                .then()
+                .statusCode(400);
+    }
+
     @Test
     @TestTransaction
     @DisplayName("POST /api/persons - Should handle duplicate email constraint")
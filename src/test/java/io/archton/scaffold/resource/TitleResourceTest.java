@@ -1,6 +1,7 @@
 package io.archton.scaffold.resource;
 
 import io.archton.scaffold.domain.Title;
+import io.archton.scaffold.support.TestUsers;
 import io.quarkus.test.TestTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.builder.RequestSpecBuilder;
@@ -8,6 +9,7 @@ import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
 import io.restassured.specification.ResponseSpecification;
+import jakarta.inject.Inject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,6 +21,11 @@ import static org.hamcrest.Matchers.*;
 @DisplayName("Title Resource REST API Tests")
 class TitleResourceTest {
 
+    private static final String METRICS_ADMIN = "title_metrics_admin";
+
+    @Inject
+    TestUsers testUsers;
+
     private RequestSpecification requestSpec;
     private ResponseSpecification responseSpec;
 
@@ -532,4 +539,46 @@ class TitleResourceTest {
                 .statusCode(404)
                 .body("error", containsString("Entity not found"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @TestTransaction
+    @DisplayName("GET /titles-ui/table - Should serve cached titles and refresh after a write")
+    void testTitleCache_InvalidatedOnCreate() {
+        given().when().get("/titles-ui/table").then().statusCode(200);
+        given().when().get("/titles-ui/table").then().statusCode(200).body(not(containsString("Cached Title")));
+
+        given().spec(requestSpec).body(createValidTitle("CACHE", "Cached Title")).when().post().then().statusCode(201);
+
+        given().when().get("/titles-ui/table").then().statusCode(200).body(containsString("Cached Title"));
+
+        testUsers.createWithRoles(METRICS_ADMIN, "ROLE_ADMIN");
+        try {
+            given()
+                    .header("Authorization", "Bearer " + TestUsers.accessToken(METRICS_ADMIN))
+                    .when()
+                    .get("/api/metrics/caches")
+                    .then()
+                    .statusCode(200)
+                    .body("find { it.name == 'title' }.hits", greaterThanOrEqualTo(1))
+                    .body("find { it.name == 'title' }.misses", greaterThanOrEqualTo(1))
+                    .body("find { it.name == 'title' }.invalidations", greaterThanOrEqualTo(1));
+        } finally {
+            testUsers.delete(METRICS_ADMIN);
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/metrics/caches - Should require ROLE_ADMIN")
+    void testCacheMetrics_RequiresAdmin() {
+        given()
+                .when()
+                .get("/api/metrics/caches")
+                .then()
+                .statusCode(401);
+        given()
+                .when()
+                .get("/api/metrics/hashing")
+                .then()
+                .statusCode(401);
+    }
+}
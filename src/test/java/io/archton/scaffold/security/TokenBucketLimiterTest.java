@@ -0,0 +1,76 @@
+package io.archton.scaffold.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Token Bucket Limiter Tests")
+class TokenBucketLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @DisplayName("tryAcquire - Should allow a burst up to capacity, then refill over time")
+    void testTryAcquire_BurstAndRefill() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 6, TimeUnit.MINUTES.toNanos(15), 1000, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("alice"));
+        }
+        long retryAfter = limiter.tryAcquire("alice");
+        assertTrue(retryAfter >= 10 && retryAfter <= 11);
+        assertEquals(0, limiter.tryAcquire("bob"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertTrue(limiter.tryAcquire("alice") > 0);
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Should cap the number of keys")
+    void testTryAcquire_MaxKeys() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 60, TimeUnit.SECONDS.toNanos(5), 64, now::get);
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("user" + i);
+        }
+        assertTrue(limiter.size() <= 64);
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Should drop buckets that have been idle")
+    void testTryAcquire_EvictsIdle() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 60, TimeUnit.SECONDS.toNanos(5), 100000, now::get);
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("user" + i);
+        }
+        assertEquals(1000, limiter.size());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        limiter.tryAcquire("user0");
+        assertTrue(limiter.size() < 1000);
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Should not evict a spent bucket to make room for new keys")
+    void testTryAcquire_FullStripeKeepsSpentBuckets() {
+        // One key per stripe, so every new key competes with the spent one for its stripe's only slot
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 6, TimeUnit.MINUTES.toNanos(15), 64, now::get);
+
+        assertEquals(0, limiter.tryAcquire("victim"));
+        assertTrue(limiter.tryAcquire("victim") > 0);
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("attacker" + i);
+        }
+        assertTrue(limiter.tryAcquire("victim") > 0, "A spent bucket must survive a flood of fresh keys");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(0, limiter.tryAcquire("victim"));
+    }
+}
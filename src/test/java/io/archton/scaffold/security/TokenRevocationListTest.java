@@ -0,0 +1,127 @@
+package io.archton.scaffold.security;
+
+import io.archton.scaffold.repository.RevokedToken;
+import io.smallrye.jwt.auth.principal.DefaultJWTCallerPrincipal;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipal;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.NumericDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Token Revocation List Tests")
+class TokenRevocationListTest {
+
+    private TokenRevocationList list;
+
+    @BeforeEach
+    void setUp() {
+        list = new TokenRevocationList();
+        list.expectedTokens = 1000;
+        list.falsePositiveRate = 0.01;
+        list.init();
+    }
+
+    private JWTCallerPrincipal token(String jti, long userId, long issuedAt) {
+        return token(jti, userId, issuedAt, null);
+    }
+
+    private JWTCallerPrincipal token(String jti, long userId, long issuedAt, Long issuedAtMillis) {
+        JwtClaims claims = new JwtClaims();
+        claims.setJwtId(jti);
+        claims.setClaim("userId", userId);
+        claims.setIssuedAt(NumericDate.fromSeconds(issuedAt));
+        if (issuedAtMillis != null) {
+            claims.setClaim(TokenRevocationList.ISSUED_AT_MILLIS_CLAIM, issuedAtMillis);
+        }
+        claims.setExpirationTime(NumericDate.fromSeconds(issuedAt + 3600));
+        return new DefaultJWTCallerPrincipal(claims);
+    }
+
+    @Test
+    @DisplayName("isRevoked - Should reject a revoked jti and accept others")
+    void testIsRevoked_Jti() {
+        list.revoke(new RevokedToken("jti-1", 7L, 5000));
+
+        assertTrue(list.isRevoked(token("jti-1", 7L, 1000)));
+        assertFalse(list.isRevoked(token("jti-2", 7L, 1000)));
+    }
+
+    @Test
+    @DisplayName("isRevoked - Should reject tokens issued at or before the user's cutoff")
+    void testIsRevoked_Cutoff() {
+        list.cutoff(7L, 1_000_000);
+
+        assertTrue(list.isRevoked(token("jti-1", 7L, 999)));
+        assertTrue(list.isRevoked(token("jti-2", 7L, 1000)));
+        assertFalse(list.isRevoked(token("jti-3", 7L, 1001)));
+        assertFalse(list.isRevoked(token("jti-4", 8L, 999)));
+
+        list.cutoff(7L, 500_000);
+        assertTrue(list.isRevoked(token("jti-1", 7L, 999)), "An older cutoff must not move the existing one back");
+    }
+
+    @Test
+    @DisplayName("isRevoked - Should compare the cutoff in milliseconds when the token carries them")
+    void testIsRevoked_CutoffSameSecond() {
+        list.cutoff(7L, 1_000_500);
+
+        assertTrue(list.isRevoked(token("jti-1", 7L, 1000, 1_000_400L)));
+        assertTrue(list.isRevoked(token("jti-2", 7L, 1000, 1_000_500L)));
+        assertFalse(list.isRevoked(token("jti-3", 7L, 1000, 1_000_600L)), "A login after the revocation in the same second is accepted");
+        assertTrue(list.isRevoked(token("jti-4", 7L, 1000)), "Without the claim the token counts from the start of its second");
+    }
+
+    @Test
+    @DisplayName("load - Should add loaded rows to the existing entries")
+    void testLoad() {
+        list.revoke(new RevokedToken("jti-1", 7L, 5000));
+        list.load(List.of(new RevokedToken("jti-2", 8L, 5000)), Map.of(9L, 1_000_000L));
+
+        assertTrue(list.isRevoked(token("jti-1", 7L, 1000)));
+        assertTrue(list.isRevoked(token("jti-2", 8L, 1000)));
+        assertTrue(list.isRevoked(token("jti-3", 9L, 1000)));
+        assertEquals(2, list.size());
+    }
+
+    @Test
+    @DisplayName("purgeExpired - Should drop expired tokens and keep the rest revoked")
+    void testPurgeExpired() {
+        for (int i = 0; i < 100; i++) {
+            list.revoke(new RevokedToken("jti-" + i, 7L, i < 50 ? 1000 : 5000));
+        }
+
+        list.purgeExpired(2000);
+
+        assertEquals(50, list.size());
+        assertFalse(list.isRevoked(token("jti-10", 7L, 500)));
+        assertTrue(list.isRevoked(token("jti-60", 7L, 500)));
+    }
+
+    @Test
+    @DisplayName("BloomFilter - Should never miss an added value and rarely report an absent one")
+    void testBloomFilter_FalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("added-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("added-" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "False positive rate too high: " + falsePositives);
+    }
+}
@@ -0,0 +1,63 @@
+package io.archton.scaffold.security;
+
+import io.smallrye.jwt.auth.principal.DefaultJWTCallerPrincipal;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipal;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.NumericDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Verified Token Cache Tests")
+class VerifiedTokenCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache();
+        cache.enabled = true;
+        cache.maxSize = 100;
+        cache.clockSeconds = now::get;
+    }
+
+    private JWTCallerPrincipal principal(String subject, long expiresAt) {
+        JwtClaims claims = new JwtClaims();
+        claims.setSubject(subject);
+        claims.setExpirationTime(NumericDate.fromSeconds(expiresAt));
+        return new DefaultJWTCallerPrincipal(claims);
+    }
+
+    @Test
+    @DisplayName("get - Should return the cached principal until the token expires")
+    void testGet_UntilExpiry() {
+        JWTCallerPrincipal principal = principal("alice", now.get() + 60);
+        cache.put("token-a", principal);
+
+        assertSame(principal, cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+
+        now.addAndGet(60);
+        assertNull(cache.get("token-a"));
+        assertEquals(0, cache.stats().size());
+        assertEquals(0.5 / 1.5, cache.stats().hitRate(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("put - Should stay within the maximum size")
+    void testPut_Bounded() {
+        for (int i = 0; i < 500; i++) {
+            cache.put("token-" + i, principal("user" + i, now.get() + 60));
+        }
+
+        assertTrue(cache.stats().size() <= 100);
+    }
+}
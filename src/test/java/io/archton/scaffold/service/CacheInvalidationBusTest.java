@@ -0,0 +1,89 @@
+package io.archton.scaffold.service;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@DisplayName("Cache Invalidation Bus Tests")
+class CacheInvalidationBusTest {
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    TitleService titleService;
+
+    @Inject
+    DataVersions dataVersions;
+
+    @Test
+    @DisplayName("Key - Should round-trip through the notification payload")
+    void testKeyPayload() {
+        CacheInvalidationBus.Key key = new CacheInvalidationBus.Key(TableChangedEvent.Table.USER, 42L);
+        CacheInvalidationBus.Key table = new CacheInvalidationBus.Key(TableChangedEvent.Table.TITLE, null);
+
+        assertEquals(key, CacheInvalidationBus.Key.fromPayload(key.toPayload("node")));
+        assertEquals(table, CacheInvalidationBus.Key.fromPayload(table.toPayload("node")));
+    }
+
+    @Test
+    @DisplayName("Listener - Should invalidate the title cache and ETag version when another node changes titles")
+    void testRemoteTitleChange() throws Exception {
+        titleService.listSorted();
+        long invalidations = titleService.cacheStats().invalidations();
+        String version = dataVersions.version(TableChangedEvent.Table.TITLE);
+
+        // Written behind the application's back, as another node would, so only the notification tells this node
+        execute("insert into title (code, description) values ('BUSX', 'Cache bus test title')");
+        assertEquals(version, dataVersions.version(TableChangedEvent.Table.TITLE), "The version is cached until invalidated");
+
+        // Repeated in case the listener thread is still connecting when the test starts
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((titleService.cacheStats().invalidations() == invalidations
+                || version.equals(dataVersions.version(TableChangedEvent.Table.TITLE)))
+                && System.currentTimeMillis() < deadline) {
+            sendNotification("other-node|TITLE|");
+            Thread.sleep(100);
+        }
+        assertTrue(titleService.cacheStats().invalidations() > invalidations);
+        assertNotEquals(version, dataVersions.version(TableChangedEvent.Table.TITLE));
+
+        execute("delete from title where code = 'BUSX'");
+        titleService.invalidateCache();
+        dataVersions.bump(TableChangedEvent.Table.TITLE);
+    }
+
+    @Test
+    @DisplayName("DataVersions - Should derive the same version from the same data")
+    void testDataVersionFromData() {
+        String version = dataVersions.version(TableChangedEvent.Table.GENDER);
+        dataVersions.bump(TableChangedEvent.Table.GENDER);
+
+        assertEquals(version, dataVersions.version(TableChangedEvent.Table.GENDER));
+    }
+
+    private void execute(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.execute();
+        }
+    }
+
+    private void sendNotification(String payload) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select pg_notify('cache_invalidation', ?)")) {
+            statement.setString(1, payload);
+            statement.execute();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.repository.UserRepository;
+import io.archton.scaffold.support.TestUsers;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@DisplayName("Last Login Buffer Tests")
+class LastLoginBufferTest {
+
+    private static final String USERNAME = "last_login_test";
+
+    @Inject
+    LastLoginBuffer lastLoginBuffer;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    TestUsers testUsers;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = testUsers.create(USERNAME);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.delete(USERNAME);
+    }
+
+    @Test
+    @DisplayName("flush - Should write the latest of several buffered logins")
+    void testFlush_CoalescesLogins() {
+        LocalDateTime first = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime latest = first.plusMinutes(5);
+
+        lastLoginBuffer.record(userId, first);
+        lastLoginBuffer.record(userId, latest);
+        lastLoginBuffer.record(userId, first.plusMinutes(1));
+        lastLoginBuffer.flush();
+
+        assertEquals(0, lastLoginBuffer.pendingCount());
+        assertEquals(latest, QuarkusTransaction.requiringNew().call(() -> userRepository.findById(userId).lastLogin));
+    }
+
+    @Test
+    @DisplayName("flush - Should not move last login backwards")
+    void testFlush_KeepsNewerLogin() {
+        LocalDateTime latest = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        lastLoginBuffer.record(userId, latest);
+        lastLoginBuffer.flush();
+        lastLoginBuffer.record(userId, latest.minusHours(1));
+        lastLoginBuffer.flush();
+
+        assertEquals(latest, QuarkusTransaction.requiringNew().call(() -> userRepository.findById(userId).lastLogin));
+    }
+}
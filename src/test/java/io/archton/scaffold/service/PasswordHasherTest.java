@@ -0,0 +1,35 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.dto.HashingStats;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@DisplayName("Password Hasher Tests")
+class PasswordHasherTest {
+
+    @Inject
+    PasswordHasher passwordHasher;
+
+    @Test
+    @DisplayName("hash and matches - Should verify on the hashing pool and count the work")
+    void testHashAndMatches() {
+        long completed = passwordHasher.stats().completed();
+
+        String hash = passwordHasher.hash("correct horse");
+
+        assertTrue(passwordHasher.matches("correct horse", hash));
+        assertFalse(passwordHasher.matches("battery staple", hash));
+
+        HashingStats stats = passwordHasher.stats();
+        assertEquals(completed + 3, stats.completed());
+        assertEquals(0, stats.queueDepth());
+        assertTrue(stats.averageHashMillis() > 0);
+    }
+}
@@ -0,0 +1,98 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.repository.PersonBulkRepository;
+import io.archton.scaffold.repository.PersonFacetRow;
+import io.archton.scaffold.repository.RowConsumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Person Facet Index Tests")
+class PersonFacetIndexTest {
+
+    private static final Long MALE = 1L;
+    private static final Long FEMALE = 2L;
+    private static final Long DOCTOR = 10L;
+
+    private final List<PersonFacetRow> rows = new ArrayList<>();
+    private Runnable duringStream = () -> { };
+    private PersonFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PersonFacetIndex();
+        index.personBulkRepository = new PersonBulkRepository() {
+            @Override
+            public void streamFacets(int fetchSize, RowConsumer<PersonFacetRow> consumer) throws SQLException, IOException {
+                for (PersonFacetRow row : rows) {
+                    consumer.accept(row);
+                }
+                duringStream.run();
+            }
+        };
+    }
+
+    private static PersonChangedEvent event(PersonChangedEvent.Kind kind, long id, Long genderId, Long titleId) {
+        return new PersonChangedEvent(kind, id, "First", "Last", id + "@example.com", genderId, titleId);
+    }
+
+    @Test
+    @DisplayName("query - Should filter and count sparse and very large ids")
+    void testQuery_SparseIds() {
+        rows.add(new PersonFacetRow(50L, MALE, null));
+        rows.add(new PersonFacetRow(5_000_000L, FEMALE, DOCTOR));
+        rows.add(new PersonFacetRow(10_000_000_000L, MALE, DOCTOR));
+        index.rebuild();
+
+        PersonFacetIndex.Result all = index.query(null, null, 0, 10);
+        assertEquals(List.of(50L, 5_000_000L, 10_000_000_000L), all.ids());
+        assertEquals(3, all.total());
+
+        PersonFacetIndex.Result doctors = index.query(null, DOCTOR, 0, 10);
+        assertEquals(List.of(5_000_000L, 10_000_000_000L), doctors.ids());
+        assertEquals(1, doctors.genderCounts().get(MALE));
+        assertEquals(1, doctors.genderCounts().get(FEMALE));
+
+        assertEquals(List.of(10_000_000_000L), index.query(MALE, null, 1, 10).ids());
+    }
+
+    @Test
+    @DisplayName("onPersonChanged - Should move, add and remove persons")
+    void testOnPersonChanged() {
+        rows.add(new PersonFacetRow(1L, MALE, null));
+        index.rebuild();
+
+        index.onPersonChanged(event(PersonChangedEvent.Kind.UPDATED, 1L, FEMALE, null));
+        index.onPersonChanged(event(PersonChangedEvent.Kind.CREATED, 20_000_000_000L, MALE, null));
+        assertEquals(List.of(1L), index.query(FEMALE, null, 0, 10).ids());
+        assertEquals(List.of(20_000_000_000L), index.query(MALE, null, 0, 10).ids());
+
+        index.onPersonChanged(event(PersonChangedEvent.Kind.DELETED, 1L, FEMALE, null));
+        assertEquals(0, index.query(FEMALE, null, 0, 10).total());
+    }
+
+    @Test
+    @DisplayName("rebuild - Should serve the previous bitmaps while streaming and replay changes made meanwhile")
+    void testRebuild_ReplaysChanges() {
+        rows.add(new PersonFacetRow(1L, MALE, null));
+        index.rebuild();
+
+        rows.add(new PersonFacetRow(2L, MALE, null));
+        duringStream = () -> {
+            assertEquals(1, index.query(null, null, 0, 10).total());
+            index.onPersonChanged(event(PersonChangedEvent.Kind.DELETED, 1L, MALE, null));
+            index.onPersonChanged(event(PersonChangedEvent.Kind.CREATED, 3L, FEMALE, null));
+        };
+        index.rebuild();
+
+        assertEquals(List.of(2L), index.query(MALE, null, 0, 10).ids());
+        assertEquals(List.of(3L), index.query(FEMALE, null, 0, 10).ids());
+    }
+}
@@ -0,0 +1,104 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.dto.PersonSuggestion;
+import io.archton.scaffold.repository.PersonBulkRepository;
+import io.archton.scaffold.repository.PersonExportRow;
+import io.archton.scaffold.repository.RowConsumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Person Suggestion Index Tests")
+class PersonSuggestionIndexTest {
+
+    private final List<PersonExportRow> rows = new ArrayList<>();
+    private Runnable duringStream = () -> { };
+    private PersonSuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PersonSuggestionIndex();
+        index.personBulkRepository = new PersonBulkRepository() {
+            @Override
+            public void streamAll(int fetchSize, RowConsumer<PersonExportRow> consumer) throws SQLException, IOException {
+                for (PersonExportRow row : rows) {
+                    consumer.accept(row);
+                }
+                duringStream.run();
+            }
+        };
+    }
+
+    private static PersonExportRow row(long id, String firstName, String lastName) {
+        return new PersonExportRow(id, firstName, lastName, firstName.toLowerCase() + "@example.com",
+                null, null, null, null, null, null);
+    }
+
+    private static PersonChangedEvent event(PersonChangedEvent.Kind kind, long id, String firstName, String lastName) {
+        return new PersonChangedEvent(kind, id, firstName, lastName, firstName.toLowerCase() + "@example.com", null, null);
+    }
+
+    @Test
+    @DisplayName("suggest - Should match last name, first name and email prefixes")
+    void testSuggest() {
+        rows.add(row(1, "Anna", "Smith"));
+        rows.add(row(2, "Bert", "Smithers"));
+        index.rebuild();
+
+        assertEquals(List.of(1L, 2L), index.suggest("smi", 10).stream().map(PersonSuggestion::id).toList());
+        assertEquals(List.of(2L), index.suggest("BER", 10).stream().map(PersonSuggestion::id).toList());
+        assertEquals(1, index.suggest("smith", 1).size());
+    }
+
+    @Test
+    @DisplayName("rebuild - Should keep serving the previous contents until the new ones are complete")
+    void testRebuild_ServesPreviousContents() {
+        rows.add(row(1, "Anna", "Smith"));
+        index.rebuild();
+
+        rows.add(row(2, "Bert", "Smithers"));
+        duringStream = () -> assertEquals(1, index.suggest("smi", 10).size());
+        index.rebuild();
+
+        assertEquals(2, index.suggest("smi", 10).size());
+    }
+
+    @Test
+    @DisplayName("rebuild - Should replay changes committed while the rows were streaming")
+    void testRebuild_ReplaysChanges() {
+        rows.add(row(1, "Anna", "Smith"));
+        rows.add(row(2, "Bert", "Smithers"));
+        duringStream = () -> {
+            index.onPersonChanged(event(PersonChangedEvent.Kind.DELETED, 1, "Anna", "Smith"));
+            index.onPersonChanged(event(PersonChangedEvent.Kind.UPDATED, 2, "Bert", "Jones"));
+            index.onPersonChanged(event(PersonChangedEvent.Kind.CREATED, 3, "Cara", "Smith"));
+        };
+        index.rebuild();
+
+        assertEquals(List.of(3L), index.suggest("smi", 10).stream().map(PersonSuggestion::id).toList());
+        assertEquals(List.of(2L), index.suggest("jones", 10).stream().map(PersonSuggestion::id).toList());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("rebuild - Should keep the previous contents when the reload fails")
+    void testRebuild_FailureKeepsContents() {
+        rows.add(row(1, "Anna", "Smith"));
+        index.rebuild();
+
+        duringStream = () -> {
+            throw new IllegalStateException("connection lost");
+        };
+        index.rebuild();
+
+        assertTrue(index.suggest("anna", 10).stream().anyMatch(s -> s.id().equals(1L)));
+    }
+}
@@ -0,0 +1,68 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.support.TestUsers;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@QuarkusTest
+@DisplayName("Refresh Token Service Tests")
+class RefreshTokenServiceTest {
+
+    private static final String USERNAME = "refresh_token_test";
+
+    @Inject
+    RefreshTokenService refreshTokenService;
+
+    @Inject
+    TestUsers testUsers;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = testUsers.create(USERNAME);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.delete(USERNAME);
+    }
+
+    @Test
+    @DisplayName("rotate - Should exchange a token for a new one exactly once")
+    void testRotate() {
+        String token = refreshTokenService.issue(userId);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(token);
+
+        assertNotNull(rotation);
+        assertEquals(userId, rotation.userId());
+        assertNotEquals(token, rotation.refreshToken());
+        assertNotNull(refreshTokenService.rotate(rotation.refreshToken()));
+    }
+
+    @Test
+    @DisplayName("rotate - Should revoke the whole family when a used token is presented again")
+    void testRotate_ReuseRevokesFamily() {
+        String token = refreshTokenService.issue(userId);
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(token);
+
+        assertNull(refreshTokenService.rotate(token));
+        assertNull(refreshTokenService.rotate(rotation.refreshToken()));
+    }
+
+    @Test
+    @DisplayName("rotate - Should reject unknown tokens")
+    void testRotate_Unknown() {
+        assertNull(refreshTokenService.rotate("not-a-refresh-token"));
+    }
+}
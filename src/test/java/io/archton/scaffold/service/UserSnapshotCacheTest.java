@@ -0,0 +1,61 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.domain.User;
+import io.archton.scaffold.support.TestUsers;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@QuarkusTest
+@DisplayName("User Snapshot Cache Tests")
+class UserSnapshotCacheTest {
+
+    private static final String USERNAME = "snapshot_test";
+    private static final String RENAMED = "snapshot_renamed";
+
+    @Inject
+    UserSnapshotCache userSnapshotCache;
+
+    @Inject
+    UserService userService;
+
+    @Inject
+    TestUsers testUsers;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = testUsers.create(USERNAME);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.delete(USERNAME, RENAMED);
+    }
+
+    @Test
+    @DisplayName("get - Should serve the same snapshot until the user's security version changes")
+    void testGet_ServedUntilUserChanges() {
+        UserSnapshot first = userSnapshotCache.get(userId);
+        long misses = userSnapshotCache.stats().misses();
+
+        assertSame(first, userSnapshotCache.get(userId));
+        assertEquals(misses, userSnapshotCache.stats().misses());
+
+        User updates = new User();
+        updates.username = RENAMED;
+        userService.updateUser(userId, updates, null);
+
+        UserSnapshot reloaded = userSnapshotCache.get(userId);
+        assertEquals(RENAMED, reloaded.username());
+        assertEquals(first.securityVersion() + 1, reloaded.securityVersion());
+        assertEquals(misses + 1, userSnapshotCache.stats().misses());
+    }
+}
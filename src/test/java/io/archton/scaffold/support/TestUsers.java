@@ -0,0 +1,103 @@
+package io.archton.scaffold.support;
+
+import io.archton.scaffold.domain.Role;
+import io.archton.scaffold.domain.User;
+import io.archton.scaffold.repository.RoleRepository;
+import io.archton.scaffold.repository.UserRepository;
+import io.quarkus.elytron.security.common.BcryptUtil;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.restassured.path.json.JsonPath;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Creates and removes login users for tests, each in a transaction of its own so the rows are
+ * committed and visible to the code under test. The test profile loads no seed data, so roles
+ * are created on first use.
+ */
+@ApplicationScoped
+public class TestUsers {
+
+    public static final String PASSWORD = "test-password";
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    RoleRepository roleRepository;
+
+    /**
+     * A user that cannot log in, for tests that only need the row.
+     */
+    public Long create(String username) {
+        return persist(username, "not-a-real-hash");
+    }
+
+    /**
+     * A user that logs in with {@link #PASSWORD} and holds the given roles.
+     */
+    public Long createWithRoles(String username, String... roleNames) {
+        String passwordHash = BcryptUtil.bcryptHash(PASSWORD);
+        return QuarkusTransaction.requiringNew().call(() -> {
+            User user = newUser(username, passwordHash);
+            for (String roleName : roleNames) {
+                user.addRole(findOrCreateRole(roleName));
+            }
+            userRepository.persist(user);
+            return user.id;
+        });
+    }
+
+    public void delete(String... usernames) {
+        QuarkusTransaction.requiringNew().run(() -> userRepository.delete("username in ?1", List.of(usernames)));
+    }
+
+    /**
+     * Logs in through the API and returns the full token response body.
+     */
+    public static JsonPath login(String username) {
+        return given()
+                .contentType("application/json")
+                .body("{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}")
+                .when()
+                .post("/api/auth/login")
+                .then()
+                .statusCode(200)
+                .extract()
+                .jsonPath();
+    }
+
+    public static String accessToken(String username) {
+        return login(username).getString("accessToken");
+    }
+
+    private Long persist(String username, String passwordHash) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            User user = newUser(username, passwordHash);
+            userRepository.persist(user);
+            return user.id;
+        });
+    }
+
+    private static User newUser(String username, String passwordHash) {
+        User user = new User();
+        user.username = username;
+        user.passwordHash = passwordHash;
+        return user;
+    }
+
+    private Role findOrCreateRole(String name) {
+        Role role = roleRepository.findByName(name);
+        if (role == null) {
+            role = new Role();
+            role.name = name;
+            role.description = name;
+            roleRepository.persist(role);
+        }
+        return role;
+    }
+}
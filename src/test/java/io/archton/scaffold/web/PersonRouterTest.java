@@ -0,0 +1,149 @@
+package io.archton.scaffold.web;
+
+import io.archton.scaffold.domain.Person;
+import io.archton.scaffold.dto.BatchItemResult;
+import io.archton.scaffold.service.PersonService;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@DisplayName("Person Router Table Paging Tests")
+class PersonRouterTest {
+
+    private static final Pattern PERSON_ROW = Pattern.compile("data-person-id=\"(\\d+)\"");
+    private static final Pattern NEXT_PAGE = Pattern.compile("hx-get=\"/persons-ui/table/page\\?cursor=([^\"]+)\"");
+
+    @Inject
+    PersonService personService;
+
+    @ConfigProperty(name = "persons.page.default-size")
+    int pageSize;
+
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < pageSize + 5; i++) {
+            persons.add(new Person("Row" + i, String.format("Pagewright%03d", i), "row" + i + "@pagewright.example"));
+        }
+        for (BatchItemResult item : personService.createPersons(persons).items()) {
+            createdIds.add(item.id());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        createdIds.forEach(personService::deletePerson);
+        createdIds.clear();
+    }
+
+    private static List<Long> rowIds(String html) {
+        List<Long> ids = new ArrayList<>();
+        Matcher matcher = PERSON_ROW.matcher(html);
+        while (matcher.find()) {
+            ids.add(Long.valueOf(matcher.group(1)));
+        }
+        return ids;
+    }
+
+    private static String nextCursor(String html) {
+        Matcher matcher = NEXT_PAGE.matcher(html);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    @Test
+    @DisplayName("GET /persons-ui/table - Should render the first page with a load-more row")
+    void testGetTable_FirstPage() {
+        String html = given()
+                .when()
+                .get("/persons-ui/table")
+                .then()
+                .statusCode(200)
+                .contentType(containsString("text/html"))
+                .header("ETag", notNullValue())
+                .body(containsString("data-testid=\"load-more-row\""))
+                .extract()
+                .asString();
+
+        assertEquals(pageSize, rowIds(html).size());
+        assertNotNull(nextCursor(html));
+    }
+
+    @Test
+    @DisplayName("GET /persons-ui/table/page?cursor= - Should follow the cursors through every row exactly once")
+    void testGetTablePage_FollowsCursors() {
+        String html = given().when().get("/persons-ui/table").then().statusCode(200).extract().asString();
+        List<Long> seen = new ArrayList<>(rowIds(html));
+        String cursor = nextCursor(html);
+
+        while (cursor != null) {
+            html = given()
+                    .queryParam("cursor", cursor)
+                    .when()
+                    .get("/persons-ui/table/page")
+                    .then()
+                    .statusCode(200)
+                    .body(not(containsString("<table")))
+                    .extract()
+                    .asString();
+            List<Long> page = rowIds(html);
+            assertTrue(page.size() <= pageSize, "A page must not exceed the page size");
+            seen.addAll(page);
+            cursor = nextCursor(html);
+        }
+
+        Set<Long> distinct = new HashSet<>(seen);
+        assertEquals(seen.size(), distinct.size(), "No row may appear on two pages");
+        assertTrue(distinct.containsAll(createdIds), "Every person must appear on some page");
+    }
+
+    @Test
+    @DisplayName("GET /persons-ui/table/page?cursor= - Should answer 304 for a matching If-None-Match")
+    void testGetTablePage_NotModified() {
+        String html = given().when().get("/persons-ui/table").then().statusCode(200).extract().asString();
+        String cursor = nextCursor(html);
+
+        Response page = given().queryParam("cursor", cursor).when().get("/persons-ui/table/page");
+        String etag = page.getHeader("ETag");
+        assertNotNull(etag);
+
+        given()
+                .queryParam("cursor", cursor)
+                .header("If-None-Match", etag)
+                .when()
+                .get("/persons-ui/table/page")
+                .then()
+                .statusCode(304);
+    }
+
+    @Test
+    @DisplayName("GET /persons-ui/table/page?cursor= - Should reject a malformed cursor")
+    void testGetTablePage_MalformedCursor() {
+        given()
+                .queryParam("cursor", "not-a-cursor")
+                .when()
+                .get("/persons-ui/table/page")
+                .then()
+                .statusCode(400);
+    }
+}